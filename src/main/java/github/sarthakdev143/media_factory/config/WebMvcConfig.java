@@ -0,0 +1,22 @@
+package github.sarthakdev143.media_factory.config;
+
+import github.sarthakdev143.media_factory.controller.JobAdmissionInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final JobAdmissionInterceptor jobAdmissionInterceptor;
+
+    public WebMvcConfig(JobAdmissionInterceptor jobAdmissionInterceptor) {
+        this.jobAdmissionInterceptor = jobAdmissionInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(jobAdmissionInterceptor)
+                .addPathPatterns("/api/video/generate", "/api/video/compositions");
+    }
+}
@@ -0,0 +1,30 @@
+package github.sarthakdev143.media_factory.controller;
+
+import github.sarthakdev143.media_factory.service.impl.MediaJobExecutor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects job submissions while the job queue is full. Interceptors run before handler arguments are resolved,
+ * so with lazy multipart resolution a rejected request's file parts are never parsed or spooled to disk.
+ * Registered for the job submission endpoints in {@code WebMvcConfig}.
+ */
+@Component
+public class JobAdmissionInterceptor implements HandlerInterceptor {
+
+    private final MediaJobExecutor jobExecutor;
+
+    public JobAdmissionInterceptor(MediaJobExecutor jobExecutor) {
+        this.jobExecutor = jobExecutor;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("POST".equals(request.getMethod())) {
+            jobExecutor.checkCapacity();
+        }
+        return true;
+    }
+}
@@ -17,14 +17,17 @@ import github.sarthakdev143.media_factory.model.SceneType;
 import github.sarthakdev143.media_factory.model.TransitionType;
 import github.sarthakdev143.media_factory.model.VideoJobState;
 import github.sarthakdev143.media_factory.model.VisualFilterType;
+import github.sarthakdev143.media_factory.service.JobQueueFullException;
 import github.sarthakdev143.media_factory.service.VideoProcessingService;
 import github.sarthakdev143.media_factory.service.impl.CompositionManifestValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.json.JsonParser;
 import org.springframework.boot.json.JsonParserFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -107,6 +110,8 @@ public class VideoController {
                             jobId,
                             VideoJobState.QUEUED,
                             "Video job accepted. Poll /api/video/status/{jobId} for progress."));
+        } catch (JobQueueFullException e) {
+            return jobQueueFull(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
         } catch (Exception e) {
@@ -156,6 +161,8 @@ public class VideoController {
                             jobId,
                             VideoJobState.QUEUED,
                             "Composition job accepted. Poll /api/video/status/{jobId} for progress."));
+        } catch (JobQueueFullException e) {
+            return jobQueueFull(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
         } catch (Exception e) {
@@ -172,6 +179,14 @@ public class VideoController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job not found for id: " + jobId));
     }
 
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<String> jobQueueFull(JobQueueFullException e) {
+        logger.warn("Rejected job submission: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.retryAfterSeconds()))
+                .body("Too many jobs in progress. Retry after " + e.retryAfterSeconds() + " seconds.");
+    }
+
     private CompositionManifestRequest parseManifest(String manifestJson) {
         if (manifestJson == null || manifestJson.isBlank()) {
             throw new IllegalArgumentException("manifest is required.");
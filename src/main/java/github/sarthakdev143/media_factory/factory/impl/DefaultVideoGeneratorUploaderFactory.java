@@ -2,14 +2,33 @@ package github.sarthakdev143.media_factory.factory.impl;
 
 import com.google.api.services.youtube.YouTube;
 import github.sarthakdev143.media_factory.factory.VideoGeneratorUploaderFactory;
+import github.sarthakdev143.media_factory.integration.video.ResumableUploadSettings;
 import github.sarthakdev143.media_factory.integration.video.VideoGeneratorUploader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @Component
 public class DefaultVideoGeneratorUploaderFactory implements VideoGeneratorUploaderFactory {
 
+    private final ResumableUploadSettings uploadSettings;
+
+    public DefaultVideoGeneratorUploaderFactory(
+            @Value("${media-factory.youtube.upload.chunk-size:8MB}") DataSize chunkSize,
+            @Value("${media-factory.youtube.upload.max-retries:8}") int maxRetries,
+            @Value("${media-factory.youtube.upload.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${media-factory.youtube.upload.max-backoff:60s}") Duration maxBackoff) {
+        this.uploadSettings = new ResumableUploadSettings(
+                Math.toIntExact(chunkSize.toBytes()),
+                maxRetries,
+                initialBackoff,
+                maxBackoff);
+    }
+
     @Override
     public VideoGeneratorUploader create(YouTube youTubeService) {
-        return new VideoGeneratorUploader(youTubeService);
+        return new VideoGeneratorUploader(youTubeService, uploadSettings);
     }
 }
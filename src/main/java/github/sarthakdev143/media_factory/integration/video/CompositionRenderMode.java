@@ -0,0 +1,6 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+public enum CompositionRenderMode {
+    MULTI_PASS,
+    SINGLE_PASS
+}
@@ -12,20 +12,38 @@ import github.sarthakdev143.media_factory.model.composition.CompositionRenderPla
 import github.sarthakdev143.media_factory.model.composition.CompositionScenePlan;
 import github.sarthakdev143.media_factory.model.composition.CompositionVisualEditPlan;
 import github.sarthakdev143.media_factory.service.CompositionRenderer;
+import github.sarthakdev143.media_factory.service.RenderProgressListener;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class FfmpegCompositionRenderer implements CompositionRenderer {
@@ -35,48 +53,122 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
     private static final String DEFAULT_FFMPEG_BINARY = "ffmpeg";
     private static final double CUT_TRANSITION_DURATION_SECONDS = 0.001;
     private static final double EPSILON = 1e-9;
+    private static final String JOB_ID_MDC_KEY = "jobId";
+    private static final int OUTPUT_TAIL_MAX_LINES = 60;
+    private static final int OUTPUT_TAIL_MAX_CHARS = 16 * 1024;
+    private static final String STAGE_RENDER = "render";
+    private static final String STAGE_RENDER_SCENES = "render_scenes";
+    private static final String STAGE_COMBINE_SCENES = "combine_scenes";
+    private static final String STAGE_MUX_AUDIO = "mux_audio";
+    private static final int SCENE_FRAME_RATE = 30;
+    private static final int SCENE_GOP_FRAMES = 60;
+    private static final int SCENE_TRACK_TIMESCALE = 15360;
+    private static final long SCENE_ABORT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final int sceneRenderParallelism;
+    private final ExecutorService sceneRenderExecutor;
+    private final SceneClipCache sceneClipCache;
+    private final CompositionRenderMode renderMode;
+    private final int singlePassMaxScenes;
+    private final IntermediateCodec intermediateCodec;
+    private final Path ffmpegLogDirectory;
+    private final ProcessLauncher processLauncher;
+
+    @Autowired
+    public FfmpegCompositionRenderer(
+            @Value("${media-factory.render.scene-parallelism:0}") int sceneRenderParallelism,
+            SceneClipCache sceneClipCache,
+            @Value("${media-factory.render.mode:MULTI_PASS}") CompositionRenderMode renderMode,
+            @Value("${media-factory.render.single-pass-max-scenes:12}") int singlePassMaxScenes,
+            @Value("${media-factory.render.intermediate-codec:H264}") IntermediateCodec intermediateCodec,
+            @Value("${media-factory.render.ffmpeg-log-directory:}") String ffmpegLogDirectory) {
+        this(
+                sceneRenderParallelism,
+                sceneClipCache,
+                renderMode,
+                singlePassMaxScenes,
+                intermediateCodec,
+                ffmpegLogDirectory,
+                command -> new ProcessBuilder(command).redirectErrorStream(true).start());
+    }
+
+    FfmpegCompositionRenderer(
+            int sceneRenderParallelism,
+            SceneClipCache sceneClipCache,
+            CompositionRenderMode renderMode,
+            int singlePassMaxScenes,
+            IntermediateCodec intermediateCodec,
+            String ffmpegLogDirectory,
+            ProcessLauncher processLauncher) {
+        this.processLauncher = processLauncher;
+        this.sceneClipCache = sceneClipCache;
+        this.intermediateCodec = intermediateCodec;
+        this.ffmpegLogDirectory = ffmpegLogDirectory == null || ffmpegLogDirectory.isBlank()
+                ? null
+                : Path.of(ffmpegLogDirectory);
+        this.renderMode = renderMode;
+        this.singlePassMaxScenes = singlePassMaxScenes;
+        this.sceneRenderParallelism = sceneRenderParallelism > 0
+                ? sceneRenderParallelism
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.sceneRenderExecutor = Executors.newFixedThreadPool(this.sceneRenderParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "scene-render-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sceneRenderExecutor.shutdownNow();
+    }
 
     @Override
-    public void renderComposition(CompositionRenderPlan plan, Path outputVideoPath) throws IOException, InterruptedException {
+    public void renderComposition(
+            CompositionRenderPlan plan,
+            Path outputVideoPath,
+            RenderProgressListener progressListener) throws IOException, InterruptedException {
         if (plan.scenes().isEmpty()) {
             throw new IllegalArgumentException("Composition render plan must include at least one scene.");
         }
 
+        if (useSinglePass(plan)) {
+            List<Path> assetPaths = resolveAssetPaths(plan);
+            runCommand(
+                    buildSinglePassCommand(plan, assetPaths, outputVideoPath),
+                    "render composition in a single pass",
+                    stageProgress(progressListener, STAGE_RENDER, plan.totalDurationSec()));
+            return;
+        }
+
         Path workDir = Files.createTempDirectory("media-factory-composition-");
         List<Path> sceneClips = new ArrayList<>();
         Path visualTrack = workDir.resolve("visual.mp4");
 
         try {
-            for (int index = 0; index < plan.scenes().size(); index++) {
-                CompositionScenePlan scene = plan.scenes().get(index);
-                Path assetPath = plan.assetPaths().get(scene.assetId());
-                if (assetPath == null) {
-                    throw new IllegalArgumentException("Missing asset path for scene assetId=" + scene.assetId());
-                }
+            sceneClips.addAll(renderScenes(plan, workDir, progressListener));
 
-                Path sceneClip = workDir.resolve("scene-" + index + ".mp4");
-                List<String> renderSceneCommand = scene.type() == SceneType.IMAGE
-                        ? buildImageSceneCommand(scene, assetPath, plan.outputPreset().width(), plan.outputPreset().height(), sceneClip)
-                        : buildVideoSceneCommand(scene, assetPath, plan.outputPreset().width(), plan.outputPreset().height(), sceneClip);
-                runCommand(renderSceneCommand, "render scene " + index);
-                sceneClips.add(sceneClip);
-            }
-
-            if (sceneClips.size() == 1) {
-                Files.copy(sceneClips.get(0), visualTrack);
-            } else {
-                boolean hasCrossfade = plan.scenes()
-                        .stream()
-                        .skip(1)
-                        .anyMatch(scene -> scene.transition().type() == TransitionType.CROSSFADE);
-
-                List<String> combineCommand = hasCrossfade
+            FfmpegProgressParser.Callback combineProgress =
+                    stageProgress(progressListener, STAGE_COMBINE_SCENES, plan.totalDurationSec());
+            combineProgress.onProgress(0.0, 0.0);
+            if (!intermediateCodec.streamCopyCompatible()) {
+                List<String> encodeCommand = hasCrossfade(plan.scenes())
                         ? buildVisualTransitionCommand(sceneClips, plan.scenes(), visualTrack)
                         : buildVisualConcatCommand(sceneClips, visualTrack);
-                runCommand(combineCommand, "combine scene clips");
+                runCommand(encodeCommand, "encode visual track", combineProgress);
+            } else if (sceneClips.size() == 1) {
+                Files.copy(sceneClips.get(0), visualTrack);
+            } else if (hasCrossfade(plan.scenes())) {
+                combineWithTransitionWindows(sceneClips, plan.scenes(), workDir, visualTrack, combineProgress);
+            } else {
+                concatWithoutReencoding(sceneClips, workDir, visualTrack, combineProgress);
             }
 
-            runCommand(buildAudioMuxCommand(plan.audioPath(), visualTrack, outputVideoPath), "mux audio and visual tracks");
+            runCommand(
+                    buildAudioMuxCommand(plan.audioPath(), visualTrack, outputVideoPath),
+                    "mux audio and visual tracks",
+                    stageProgress(progressListener, STAGE_MUX_AUDIO, plan.totalDurationSec()));
         } finally {
             deleteIfExists(visualTrack);
             for (Path sceneClip : sceneClips) {
@@ -86,6 +178,443 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
         }
     }
 
+    private void concatWithoutReencoding(
+            List<Path> sceneClips,
+            Path workDir,
+            Path visualTrack,
+            FfmpegProgressParser.Callback combineProgress) throws IOException, InterruptedException {
+        Path concatList = workDir.resolve("scenes.txt");
+        Files.writeString(concatList, buildConcatList(sceneClips));
+        try {
+            runCommand(buildStreamCopyConcatCommand(concatList, visualTrack), "concat scene clips", combineProgress);
+        } catch (IOException streamCopyError) {
+            logger.warn("Stream-copy concat failed; re-encoding scene clips instead", streamCopyError);
+            runCommand(buildVisualConcatCommand(sceneClips, visualTrack), "combine scene clips", combineProgress);
+        }
+    }
+
+    private void combineWithTransitionWindows(
+            List<Path> sceneClips,
+            List<CompositionScenePlan> scenes,
+            Path workDir,
+            Path visualTrack,
+            FfmpegProgressParser.Callback combineProgress) throws IOException, InterruptedException {
+        if (!fitsTransitionWindows(scenes)) {
+            runCommand(buildVisualTransitionCommand(sceneClips, scenes, visualTrack), "combine scene clips", combineProgress);
+            return;
+        }
+
+        try {
+            List<Path> pieces = new ArrayList<>();
+            Path previousTail = null;
+            double combinedSeconds = 0.0;
+            for (int index = 0; index < scenes.size(); index++) {
+                double headSeconds = incomingCrossfadeSeconds(scenes, index);
+                double tailSeconds = incomingCrossfadeSeconds(scenes, index + 1);
+                List<Path> parts = splitSceneClip(
+                        sceneClips.get(index),
+                        index,
+                        transitionKeyframeTimes(scenes, index),
+                        workDir);
+
+                int partIndex = 0;
+                if (headSeconds > 0) {
+                    Path window = workDir.resolve("transition-" + index + ".mp4");
+                    runCommand(
+                            buildTransitionWindowCommand(previousTail, parts.get(partIndex++), headSeconds, window),
+                            "render transition " + index);
+                    pieces.add(window);
+                }
+                pieces.add(parts.get(partIndex++));
+                previousTail = tailSeconds > 0 ? parts.get(partIndex) : null;
+
+                combinedSeconds += scenes.get(index).durationSec() - headSeconds;
+                combineProgress.onProgress(combinedSeconds, 0.0);
+            }
+
+            Path concatList = workDir.resolve("pieces.txt");
+            Files.writeString(concatList, buildConcatList(pieces));
+            runCommand(buildStreamCopyConcatCommand(concatList, visualTrack), "concat transition pieces");
+        } catch (IOException windowError) {
+            logger.warn("Transition window render failed; re-encoding the full timeline instead", windowError);
+            runCommand(buildVisualTransitionCommand(sceneClips, scenes, visualTrack), "combine scene clips", combineProgress);
+        }
+    }
+
+    private List<Path> splitSceneClip(
+            Path sceneClip,
+            int index,
+            List<Double> splitTimes,
+            Path workDir) throws IOException, InterruptedException {
+        String partPattern = "scene-" + index + "-part-%d.mp4";
+        runCommand(buildSegmentSplitCommand(sceneClip, splitTimes, workDir.resolve(partPattern)), "split scene " + index);
+
+        List<Path> parts = new ArrayList<>();
+        for (int partIndex = 0; partIndex <= splitTimes.size(); partIndex++) {
+            Path part = workDir.resolve(String.format(Locale.ROOT, partPattern, partIndex));
+            if (Files.notExists(part)) {
+                throw new IOException("Scene " + index + " was not split at its transition keyframes.");
+            }
+            parts.add(part);
+        }
+        return parts;
+    }
+
+    List<Double> transitionKeyframeTimes(List<CompositionScenePlan> scenes, int index) {
+        List<Double> keyframeTimes = new ArrayList<>();
+        double headSeconds = incomingCrossfadeSeconds(scenes, index);
+        double tailSeconds = incomingCrossfadeSeconds(scenes, index + 1);
+        if (headSeconds > 0) {
+            keyframeTimes.add(headSeconds);
+        }
+        if (tailSeconds > 0) {
+            keyframeTimes.add(alignToFrame(scenes.get(index).durationSec()) - tailSeconds);
+        }
+        return keyframeTimes;
+    }
+
+    private double incomingCrossfadeSeconds(List<CompositionScenePlan> scenes, int index) {
+        if (index <= 0 || index >= scenes.size()) {
+            return 0.0;
+        }
+        CompositionScenePlan scene = scenes.get(index);
+        return scene.transition().type() == TransitionType.CROSSFADE
+                ? alignToFrame(scene.transition().durationSec())
+                : 0.0;
+    }
+
+    private boolean fitsTransitionWindows(List<CompositionScenePlan> scenes) {
+        // Every scene needs at least one frame between its head and tail windows to stream-copy.
+        double frameSeconds = 1.0 / SCENE_FRAME_RATE;
+        for (int index = 0; index < scenes.size(); index++) {
+            double middleSeconds = alignToFrame(scenes.get(index).durationSec())
+                    - incomingCrossfadeSeconds(scenes, index)
+                    - incomingCrossfadeSeconds(scenes, index + 1);
+            if (middleSeconds < frameSeconds - EPSILON) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double alignToFrame(double seconds) {
+        return (double) Math.round(seconds * SCENE_FRAME_RATE) / SCENE_FRAME_RATE;
+    }
+
+    private boolean useSinglePass(CompositionRenderPlan plan) {
+        if (renderMode != CompositionRenderMode.SINGLE_PASS) {
+            return false;
+        }
+        if (plan.scenes().size() > singlePassMaxScenes) {
+            logger.info(
+                    "Composition has {} scenes (single-pass limit {}); falling back to multi-pass rendering",
+                    plan.scenes().size(),
+                    singlePassMaxScenes);
+            return false;
+        }
+        return true;
+    }
+
+    private List<Path> resolveAssetPaths(CompositionRenderPlan plan) {
+        List<Path> assetPaths = new ArrayList<>();
+        for (CompositionScenePlan scene : plan.scenes()) {
+            Path assetPath = plan.assetPaths().get(scene.assetId());
+            if (assetPath == null) {
+                throw new IllegalArgumentException("Missing asset path for scene assetId=" + scene.assetId());
+            }
+            assetPaths.add(assetPath);
+        }
+        return assetPaths;
+    }
+
+    private FfmpegProgressParser.Callback stageProgress(
+            RenderProgressListener progressListener,
+            String stage,
+            double totalSeconds) {
+        return (outTimeSeconds, speed) -> progressListener.onProgress(stage, outTimeSeconds, totalSeconds, speed);
+    }
+
+    private List<Path> renderScenes(
+            CompositionRenderPlan plan,
+            Path workDir,
+            RenderProgressListener progressListener) throws IOException, InterruptedException {
+        List<CompositionScenePlan> scenes = plan.scenes();
+        List<Path> assetPaths = resolveAssetPaths(plan);
+        SceneStageProgress sceneProgress = new SceneStageProgress(progressListener, scenes);
+
+        Path[] sceneClips = new Path[scenes.size()];
+        Map<Path, String> assetHashes = new ConcurrentHashMap<>();
+        Map<Path, PrescaledImage> prescaledImages = new ConcurrentHashMap<>();
+        Set<Process> activeProcesses = ConcurrentHashMap.newKeySet();
+        SceneTaskGuard taskGuard = new SceneTaskGuard();
+        CompletionService<SceneRenderResult> completionService = new ExecutorCompletionService<>(sceneRenderExecutor);
+        List<Future<SceneRenderResult>> futures = new ArrayList<>();
+        long stageStartNanos = System.nanoTime();
+        long cumulativeSceneMillis = 0;
+        int completedScenes = 0;
+
+        Map<String, String> loggingContext = MDC.getCopyOfContextMap();
+
+        try {
+            for (int index = 0; index < scenes.size(); index++) {
+                int sceneIndex = index;
+                futures.add(completionService.submit(() -> {
+                    taskGuard.enter();
+                    if (loggingContext != null) {
+                        MDC.setContextMap(loggingContext);
+                    }
+                    try {
+                        return renderScene(
+                                sceneIndex,
+                                scenes.get(sceneIndex),
+                                assetPaths.get(sceneIndex),
+                                plan,
+                                workDir,
+                                assetHashes,
+                                prescaledImages,
+                                activeProcesses,
+                                sceneProgress);
+                    } finally {
+                        MDC.clear();
+                        taskGuard.exit();
+                    }
+                }));
+            }
+
+            while (completedScenes < scenes.size()) {
+                SceneRenderResult result = awaitSceneResult(completionService.take());
+                sceneClips[result.index()] = result.clip();
+                cumulativeSceneMillis += result.elapsedMillis();
+                completedScenes++;
+            }
+        } finally {
+            if (completedScenes < scenes.size()) {
+                taskGuard.abort();
+                for (Future<SceneRenderResult> future : futures) {
+                    future.cancel(true);
+                }
+                // Wait for running scenes to stop, so none writes to workDir after the caller deletes it.
+                if (!taskGuard.awaitIdle(activeProcesses, SCENE_ABORT_TIMEOUT_MILLIS)) {
+                    logger.warn(
+                            "Scene renders still running {} ms after the render was aborted",
+                            SCENE_ABORT_TIMEOUT_MILLIS);
+                }
+            }
+        }
+
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stageStartNanos);
+        logger.info(
+                "Rendered {} scenes in {} ms wall time ({} ms cumulative, parallelism={})",
+                scenes.size(),
+                wallMillis,
+                cumulativeSceneMillis,
+                sceneRenderParallelism);
+        return List.of(sceneClips);
+    }
+
+    private SceneRenderResult renderScene(
+            int index,
+            CompositionScenePlan scene,
+            Path assetPath,
+            CompositionRenderPlan plan,
+            Path workDir,
+            Map<Path, String> assetHashes,
+            Map<Path, PrescaledImage> prescaledImages,
+            Set<Process> activeProcesses,
+            SceneStageProgress sceneProgress) throws IOException, InterruptedException {
+        long startNanos = System.nanoTime();
+        Path sceneClip = workDir.resolve("scene-" + index + "." + intermediateCodec.containerExtension());
+        List<String> renderSceneCommand = buildSceneCommand(index, scene, assetPath, plan, sceneClip);
+
+        String cacheKey = null;
+        if (sceneClipCache.isEnabled()) {
+            cacheKey = sceneClipCache.keyFor(
+                    assetHash(plan.assetHashes().get(scene.assetId()), assetPath, assetHashes),
+                    sceneFingerprint(scene),
+                    plan.outputPreset().name(),
+                    commandTemplate(renderSceneCommand, assetPath, sceneClip));
+        }
+
+        boolean cacheHit = cacheKey != null && sceneClipCache.copyTo(cacheKey, sceneClip);
+        if (!cacheHit) {
+            if (scene.type() == SceneType.IMAGE) {
+                Path prescaledImage = prescaleImage(
+                        index, assetPath, plan, workDir, assetHashes, prescaledImages, activeProcesses);
+                renderSceneCommand = buildSceneCommand(index, scene, prescaledImage, plan, sceneClip);
+            }
+            runCommand(
+                    renderSceneCommand,
+                    "render scene " + index,
+                    activeProcesses,
+                    (outTimeSeconds, speed) -> sceneProgress.update(index, outTimeSeconds, speed));
+            if (cacheKey != null) {
+                sceneClipCache.store(cacheKey, sceneClip);
+            }
+        }
+
+        sceneProgress.complete(index);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        logger.info(
+                "Rendered scene {} ({}, {}s) in {} ms cacheHit={}",
+                index,
+                scene.type(),
+                formatSeconds(scene.durationSec()),
+                elapsedMillis,
+                cacheHit);
+        return new SceneRenderResult(index, sceneClip, elapsedMillis);
+    }
+
+    private List<String> buildSceneCommand(
+            int index,
+            CompositionScenePlan scene,
+            Path inputPath,
+            CompositionRenderPlan plan,
+            Path sceneClip) {
+        int width = plan.outputPreset().width();
+        int height = plan.outputPreset().height();
+        List<String> command;
+        if (isStillScene(scene)) {
+            command = buildStillImageSceneCommand(scene, inputPath, width, height, sceneClip);
+        } else if (scene.type() == SceneType.IMAGE) {
+            command = buildImageSceneCommand(scene, inputPath, width, height, sceneClip);
+        } else {
+            command = buildVideoSceneCommand(scene, inputPath, width, height, sceneClip);
+        }
+        if (intermediateCodec.streamCopyCompatible()) {
+            command = withForcedKeyframes(command, transitionKeyframeTimes(plan.scenes(), index));
+        }
+        return command;
+    }
+
+    /**
+     * Scales and pads an image asset to the output frame once per render, so image scenes loop a small frame instead
+     * of decoding and downscaling the full-resolution original for every output frame. Frames are kept in the scene
+     * clip cache under the asset hash and preset.
+     */
+    private Path prescaleImage(
+            int index,
+            Path assetPath,
+            CompositionRenderPlan plan,
+            Path workDir,
+            Map<Path, String> assetHashes,
+            Map<Path, PrescaledImage> prescaledImages,
+            Set<Process> activeProcesses) throws IOException, InterruptedException {
+        PrescaledImage prescaledImage = prescaledImages.computeIfAbsent(assetPath, ignored -> new PrescaledImage());
+        synchronized (prescaledImage) {
+            if (prescaledImage.path != null) {
+                return prescaledImage.path;
+            }
+
+            Path target = workDir.resolve("image-" + index + ".png");
+            List<String> command = buildImagePrescaleCommand(
+                    assetPath,
+                    plan.outputPreset().width(),
+                    plan.outputPreset().height(),
+                    target);
+            String cacheKey = null;
+            if (sceneClipCache.isEnabled()) {
+                String assetId = plan.scenes().get(index).assetId();
+                cacheKey = sceneClipCache.keyFor(
+                        assetHash(plan.assetHashes().get(assetId), assetPath, assetHashes),
+                        "prescaled-image",
+                        plan.outputPreset().name(),
+                        commandTemplate(command, assetPath, target));
+            }
+            if (cacheKey == null || !sceneClipCache.copyTo(cacheKey, target)) {
+                runCommand(command, "prescale image for scene " + index, activeProcesses, null);
+                if (cacheKey != null) {
+                    sceneClipCache.store(cacheKey, target);
+                }
+            }
+            prescaledImage.path = target;
+            return target;
+        }
+    }
+
+    List<String> buildImagePrescaleCommand(Path assetPath, int width, int height, Path outputPath) {
+        return List.of(
+                resolveFfmpegBinary(),
+                "-y",
+                "-i",
+                assetPath.toString(),
+                "-vf",
+                buildScalePadFilter(width, height),
+                "-frames:v",
+                "1",
+                "-pix_fmt",
+                "rgb24",
+                outputPath.toString());
+    }
+
+    List<String> withForcedKeyframes(List<String> command, List<Double> keyframeTimes) {
+        if (keyframeTimes.isEmpty()) {
+            return command;
+        }
+        List<String> keyframedCommand = new ArrayList<>(command.subList(0, command.size() - 1));
+        keyframedCommand.add("-force_key_frames");
+        keyframedCommand.add(formatKeyframeTimes(keyframeTimes));
+        keyframedCommand.add(command.get(command.size() - 1));
+        return keyframedCommand;
+    }
+
+    private String assetHash(String ingestedHash, Path assetPath, Map<Path, String> assetHashes) throws IOException {
+        if (ingestedHash != null) {
+            return ingestedHash;
+        }
+        String cachedHash = assetHashes.get(assetPath);
+        if (cachedHash != null) {
+            return cachedHash;
+        }
+        String hash = SceneClipCache.sha256(assetPath);
+        assetHashes.put(assetPath, hash);
+        return hash;
+    }
+
+    private String sceneFingerprint(CompositionScenePlan scene) {
+        // assetId and transition do not change the rendered clip, so keep them out of the cache key.
+        return new CompositionScenePlan(
+                null,
+                scene.type(),
+                scene.durationSec(),
+                scene.clipStartSec(),
+                scene.motion(),
+                scene.caption(),
+                null,
+                scene.visualEdit()).toString();
+    }
+
+    private List<String> commandTemplate(List<String> command, Path assetPath, Path outputPath) {
+        List<String> template = new ArrayList<>();
+        for (String argument : command.subList(1, command.size())) {
+            if (argument.equals(assetPath.toString())) {
+                template.add("{input}");
+            } else if (argument.equals(outputPath.toString())) {
+                template.add("{output}");
+            } else {
+                template.add(argument);
+            }
+        }
+        return template;
+    }
+
+    private SceneRenderResult awaitSceneResult(Future<SceneRenderResult> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof InterruptedException interruptedException) {
+                throw interruptedException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Scene render failed.", cause);
+        }
+    }
+
     List<String> buildImageSceneCommand(
             CompositionScenePlan scene,
             Path assetPath,
@@ -106,14 +635,51 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
         command.add("-r");
         command.add("30");
         command.add("-an");
-        command.add("-c:v");
-        command.add("libx264");
-        command.add("-preset");
-        command.add("veryfast");
-        command.add("-crf");
-        command.add("23");
-        command.add("-pix_fmt");
-        command.add("yuv420p");
+        appendSceneEncoderArguments(command);
+        command.add(outputPath.toString());
+        return command;
+    }
+
+    /**
+     * True when every frame of the scene is identical: an image without motion whose caption, if any, is shown for
+     * the whole scene.
+     */
+    boolean isStillScene(CompositionScenePlan scene) {
+        if (scene.type() != SceneType.IMAGE || (scene.motion() != null && scene.motion() != MotionType.NONE)) {
+            return false;
+        }
+        CompositionCaptionPlan caption = scene.caption();
+        return caption == null
+                || (caption.startOffsetSec() <= EPSILON && caption.endOffsetSec() >= scene.durationSec() - EPSILON);
+    }
+
+    /**
+     * Filters the image once and repeats the filtered frame with the loop filter, so neither the scene filters nor
+     * the encoder's analysis pay per output frame. Profile, pixel format and timebase match the other scene clips,
+     * so the clip still feeds the stream-copy concat and transition windows; only the GOP spans the whole scene.
+     */
+    List<String> buildStillImageSceneCommand(
+            CompositionScenePlan scene,
+            Path assetPath,
+            int width,
+            int height,
+            Path outputPath) {
+        int frameCount = Math.max(1, (int) Math.round(scene.durationSec() * SCENE_FRAME_RATE));
+        List<String> command = new ArrayList<>();
+        command.add(resolveFfmpegBinary());
+        command.add("-y");
+        command.add("-i");
+        command.add(assetPath.toString());
+        command.add("-t");
+        command.add(formatSeconds(scene.durationSec()));
+        command.add("-vf");
+        command.add(buildSceneFilter(scene, width, height, true)
+                + ",loop=loop=" + (frameCount - 1) + ":size=1:start=0"
+                + ",setpts=N/(" + SCENE_FRAME_RATE + "*TB)");
+        command.add("-r");
+        command.add(String.valueOf(SCENE_FRAME_RATE));
+        command.add("-an");
+        appendSceneEncoderArguments(command, frameCount, true);
         command.add(outputPath.toString());
         return command;
     }
@@ -138,18 +704,125 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
         command.add("-an");
         command.add("-r");
         command.add("30");
+        appendSceneEncoderArguments(command);
+        command.add(outputPath.toString());
+        return command;
+    }
+
+    private void appendSceneEncoderArguments(List<String> command) {
+        appendSceneEncoderArguments(command, SCENE_GOP_FRAMES, false);
+    }
+
+    private void appendSceneEncoderArguments(List<String> command, int gopFrames, boolean stillImage) {
+        if (intermediateCodec == IntermediateCodec.FFV1) {
+            // Lossless intra-only mezzanine: the combine stage is the only lossy H.264 generation.
+            command.add("-c:v");
+            command.add("ffv1");
+            command.add("-level");
+            command.add("3");
+            command.add("-g");
+            command.add("1");
+            command.add("-slices");
+            command.add("4");
+            command.add("-pix_fmt");
+            command.add("yuv420p");
+            return;
+        }
+
+        // Every scene clip shares profile and timebase so cut-only compositions can be joined without re-encoding.
         command.add("-c:v");
         command.add("libx264");
         command.add("-preset");
         command.add("veryfast");
+        if (stillImage) {
+            command.add("-tune");
+            command.add("stillimage");
+        }
         command.add("-crf");
         command.add("23");
         command.add("-pix_fmt");
         command.add("yuv420p");
+        command.add("-profile:v");
+        command.add("high");
+        command.add("-g");
+        command.add(String.valueOf(gopFrames));
+        command.add("-keyint_min");
+        command.add(String.valueOf(gopFrames));
+        command.add("-sc_threshold");
+        command.add("0");
+        command.add("-video_track_timescale");
+        command.add(String.valueOf(SCENE_TRACK_TIMESCALE));
+    }
+
+    List<String> buildStreamCopyConcatCommand(Path concatListPath, Path outputPath) {
+        return List.of(
+                resolveFfmpegBinary(),
+                "-y",
+                "-f",
+                "concat",
+                "-safe",
+                "0",
+                "-i",
+                concatListPath.toString(),
+                "-map",
+                "0:v:0",
+                "-c",
+                "copy",
+                outputPath.toString());
+    }
+
+    List<String> buildSegmentSplitCommand(Path sceneClip, List<Double> splitTimes, Path outputPattern) {
+        return List.of(
+                resolveFfmpegBinary(),
+                "-y",
+                "-i",
+                sceneClip.toString(),
+                "-map",
+                "0:v:0",
+                "-c",
+                "copy",
+                "-f",
+                "segment",
+                "-segment_times",
+                formatKeyframeTimes(splitTimes),
+                "-segment_format",
+                "mp4",
+                "-segment_format_options",
+                "video_track_timescale=" + SCENE_TRACK_TIMESCALE,
+                "-reset_timestamps",
+                "1",
+                outputPattern.toString());
+    }
+
+    List<String> buildTransitionWindowCommand(Path outgoingTail, Path incomingHead, double durationSeconds, Path outputPath) {
+        List<String> command = new ArrayList<>();
+        command.add(resolveFfmpegBinary());
+        command.add("-y");
+        command.add("-i");
+        command.add(outgoingTail.toString());
+        command.add("-i");
+        command.add(incomingHead.toString());
+        command.add("-filter_complex");
+        command.add("[0:v][1:v]xfade=transition=fade:duration=" + formatSeconds(durationSeconds) + ":offset=0[v]");
+        command.add("-map");
+        command.add("[v]");
+        command.add("-r");
+        command.add(String.valueOf(SCENE_FRAME_RATE));
+        appendSceneEncoderArguments(command);
         command.add(outputPath.toString());
         return command;
     }
 
+    String buildConcatList(List<Path> sceneClips) {
+        StringBuilder concatList = new StringBuilder();
+        for (Path sceneClip : sceneClips) {
+            concatList.append("file '")
+                    .append(sceneClip.toAbsolutePath().toString().replace("'", "'\\''"))
+                    .append("'\n");
+        }
+        return concatList.toString();
+    }
+
     List<String> buildVisualConcatCommand(List<Path> sceneClips, Path outputPath) {
         List<String> command = new ArrayList<>();
         command.add(resolveFfmpegBinary());
@@ -160,15 +833,12 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
         }
 
         StringBuilder filterBuilder = new StringBuilder();
-        for (int index = 0; index < sceneClips.size(); index++) {
-            filterBuilder.append("[").append(index).append(":v]");
-        }
-        filterBuilder.append("concat=n=").append(sceneClips.size()).append(":v=1:a=0[v]");
+        String outputLabel = appendConcatFilter(filterBuilder, inputVideoLabels(sceneClips.size()));
 
         command.add("-filter_complex");
         command.add(filterBuilder.toString());
         command.add("-map");
-        command.add("[v]");
+        command.add(outputLabel);
         command.add("-c:v");
         command.add("libx264");
         command.add("-preset");
@@ -193,9 +863,130 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
             command.add(sceneClip.toString());
         }
 
-        String currentLabel = "[0:v]";
-        double accumulatedDuration = scenes.get(0).durationSec();
         StringBuilder filterComplex = new StringBuilder();
+        String outputLabel = appendTransitionFilter(filterComplex, inputVideoLabels(sceneClips.size()), scenes);
+
+        command.add("-filter_complex");
+        command.add(filterComplex.toString());
+        command.add("-map");
+        command.add(outputLabel);
+        command.add("-c:v");
+        command.add("libx264");
+        command.add("-preset");
+        command.add("veryfast");
+        command.add("-crf");
+        command.add("23");
+        command.add("-pix_fmt");
+        command.add("yuv420p");
+        command.add(outputPath.toString());
+        return command;
+    }
+
+    List<String> buildSinglePassCommand(CompositionRenderPlan plan, List<Path> assetPaths, Path outputVideoPath) {
+        List<CompositionScenePlan> scenes = plan.scenes();
+        int width = plan.outputPreset().width();
+        int height = plan.outputPreset().height();
+
+        List<String> command = new ArrayList<>();
+        command.add(resolveFfmpegBinary());
+        command.add("-y");
+        for (int index = 0; index < scenes.size(); index++) {
+            CompositionScenePlan scene = scenes.get(index);
+            if (scene.type() == SceneType.IMAGE) {
+                command.add("-loop");
+                command.add("1");
+            } else {
+                command.add("-ss");
+                command.add(formatSeconds(scene.clipStartSec()));
+                command.add("-t");
+                command.add(formatSeconds(scene.durationSec()));
+            }
+            command.add("-i");
+            command.add(assetPaths.get(index).toString());
+        }
+        command.add("-stream_loop");
+        command.add("-1");
+        command.add("-i");
+        command.add(plan.audioPath().toString());
+
+        StringBuilder filterComplex = new StringBuilder();
+        List<String> sceneLabels = new ArrayList<>();
+        for (int index = 0; index < scenes.size(); index++) {
+            CompositionScenePlan scene = scenes.get(index);
+            String sceneLabel = "[s" + index + "]";
+            filterComplex.append("[").append(index).append(":v]")
+                    .append("setpts=PTS-STARTPTS,")
+                    .append(buildSceneFilter(scene, width, height, scene.type() == SceneType.IMAGE))
+                    .append(",fps=30,format=yuv420p,trim=duration=").append(formatSeconds(scene.durationSec()))
+                    .append(",setpts=PTS-STARTPTS")
+                    .append(sceneLabel)
+                    .append(";");
+            sceneLabels.add(sceneLabel);
+        }
+
+        String visualLabel;
+        if (scenes.size() == 1) {
+            visualLabel = sceneLabels.get(0);
+        } else if (hasCrossfade(scenes)) {
+            visualLabel = appendTransitionFilter(filterComplex, sceneLabels, scenes);
+        } else {
+            visualLabel = appendConcatFilter(filterComplex, sceneLabels);
+        }
+        if (filterComplex.charAt(filterComplex.length() - 1) == ';') {
+            filterComplex.setLength(filterComplex.length() - 1);
+        }
+
+        command.add("-filter_complex");
+        command.add(filterComplex.toString());
+        command.add("-map");
+        command.add(visualLabel);
+        command.add("-map");
+        command.add(scenes.size() + ":a:0");
+        command.add("-c:v");
+        command.add("libx264");
+        command.add("-preset");
+        command.add("veryfast");
+        command.add("-crf");
+        command.add("23");
+        command.add("-pix_fmt");
+        command.add("yuv420p");
+        command.add("-c:a");
+        command.add("aac");
+        command.add("-b:a");
+        command.add("192k");
+        command.add("-shortest");
+        command.add(outputVideoPath.toString());
+        return command;
+    }
+
+    private boolean hasCrossfade(List<CompositionScenePlan> scenes) {
+        return scenes.stream()
+                .skip(1)
+                .anyMatch(scene -> scene.transition().type() == TransitionType.CROSSFADE);
+    }
+
+    private List<String> inputVideoLabels(int inputCount) {
+        List<String> labels = new ArrayList<>();
+        for (int index = 0; index < inputCount; index++) {
+            labels.add("[" + index + ":v]");
+        }
+        return labels;
+    }
+
+    private String appendConcatFilter(StringBuilder filterBuilder, List<String> inputLabels) {
+        for (String inputLabel : inputLabels) {
+            filterBuilder.append(inputLabel);
+        }
+        filterBuilder.append("concat=n=").append(inputLabels.size()).append(":v=1:a=0[v]");
+        return "[v]";
+    }
+
+    private String appendTransitionFilter(
+            StringBuilder filterComplex,
+            List<String> inputLabels,
+            List<CompositionScenePlan> scenes) {
+        String currentLabel = inputLabels.get(0);
+        double accumulatedDuration = scenes.get(0).durationSec();
 
         for (int index = 1; index < scenes.size(); index++) {
             CompositionScenePlan scene = scenes.get(index);
@@ -205,12 +996,12 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
             double offset = Math.max(accumulatedDuration - transitionDuration, 0.0);
 
             String outputLabel = "[xf" + index + "]";
-            if (filterComplex.length() > 0) {
+            if (index > 1) {
                 filterComplex.append(";");
             }
 
             filterComplex.append(currentLabel)
-                    .append("[").append(index).append(":v]")
+                    .append(inputLabels.get(index))
                     .append("xfade=transition=fade:duration=").append(formatSeconds(transitionDuration))
                     .append(":offset=").append(formatSeconds(offset))
                     .append(outputLabel);
@@ -218,21 +1009,7 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
             currentLabel = outputLabel;
             accumulatedDuration = accumulatedDuration + scene.durationSec() - transitionDuration;
         }
-
-        command.add("-filter_complex");
-        command.add(filterComplex.toString());
-        command.add("-map");
-        command.add(currentLabel);
-        command.add("-c:v");
-        command.add("libx264");
-        command.add("-preset");
-        command.add("veryfast");
-        command.add("-crf");
-        command.add("23");
-        command.add("-pix_fmt");
-        command.add("yuv420p");
-        command.add(outputPath.toString());
-        return command;
+        return currentLabel;
     }
 
     List<String> buildAudioMuxCommand(Path audioPath, Path visualTrackPath, Path outputVideoPath) {
@@ -262,16 +1039,7 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
     String buildSceneFilter(CompositionScenePlan scene, int width, int height, boolean imageScene) {
         List<String> filters = new ArrayList<>();
 
-        String baseScalePad = "scale="
-                + width
-                + ":"
-                + height
-                + ":force_original_aspect_ratio=decrease,pad="
-                + width
-                + ":"
-                + height
-                + ":(ow-iw)/2:(oh-ih)/2:black,setsar=1";
-        filters.add(baseScalePad);
+        filters.add(buildScalePadFilter(width, height));
 
         if (imageScene && scene.motion() != null && scene.motion() != MotionType.NONE) {
             filters.add(buildMotionFilter(scene.motion(), scene.durationSec(), width, height));
@@ -286,6 +1054,18 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
         return String.join(",", filters);
     }
 
+    private String buildScalePadFilter(int width, int height) {
+        return "scale="
+                + width
+                + ":"
+                + height
+                + ":force_original_aspect_ratio=decrease,pad="
+                + width
+                + ":"
+                + height
+                + ":(ow-iw)/2:(oh-ih)/2:black,setsar=1";
+    }
+
     private void appendVisualEditFilters(CompositionVisualEditPlan visualEdit, List<String> filters) {
         if (visualEdit == null) {
             return;
@@ -381,36 +1161,108 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
     }
 
     private void runCommand(List<String> command, String stage) throws IOException, InterruptedException {
+        runCommand(command, stage, null, null);
+    }
+
+    private void runCommand(List<String> command, String stage, FfmpegProgressParser.Callback progressCallback)
+            throws IOException, InterruptedException {
+        runCommand(command, stage, null, progressCallback);
+    }
+
+    private void runCommand(
+            List<String> command,
+            String stage,
+            Set<Process> activeProcesses,
+            FfmpegProgressParser.Callback progressCallback) throws IOException, InterruptedException {
+        FfmpegProgressParser progressParser = null;
+        if (progressCallback != null) {
+            command = FfmpegProgressParser.withProgressOutput(command);
+            progressParser = new FfmpegProgressParser(progressCallback);
+        }
         logger.info("Running FFmpeg command for stage {}: {}", stage, String.join(" ", command));
-        Process process = new ProcessBuilder(command)
-                .redirectErrorStream(true)
-                .start();
-
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append(System.lineSeparator());
+        Process process = processLauncher.start(command);
+
+        if (activeProcesses != null) {
+            activeProcesses.add(process);
+        }
+        try {
+            if (Thread.currentThread().isInterrupted()) {
+                process.destroyForcibly();
+                throw new InterruptedException("Interrupted before FFmpeg stage " + stage + " completed.");
+            }
+
+            FfmpegOutputTail output = new FfmpegOutputTail(OUTPUT_TAIL_MAX_LINES, OUTPUT_TAIL_MAX_CHARS);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+                 BufferedWriter jobLog = openJobLog(stage, command)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (progressParser != null && progressParser.accept(line)) {
+                        continue;
+                    }
+                    output.append(line);
+                    if (jobLog != null) {
+                        jobLog.write(line);
+                        jobLog.newLine();
+                    }
+                }
+            }
+
+            boolean finished = process.waitFor(10, TimeUnit.MINUTES);
+            if (!finished) {
+                process.destroyForcibly();
+                throw new IOException("FFmpeg timed out during stage: " + stage);
+            }
+
+            if (process.exitValue() != 0) {
+                throw new IOException(
+                        "FFmpeg failed during stage "
+                                + stage
+                                + " with exit code "
+                                + process.exitValue()
+                                + ". Output: "
+                                + output);
+            }
+        } finally {
+            if (activeProcesses != null) {
+                activeProcesses.remove(process);
             }
         }
+    }
 
-        boolean finished = process.waitFor(10, TimeUnit.MINUTES);
-        if (!finished) {
-            process.destroyForcibly();
-            throw new IOException("FFmpeg timed out during stage: " + stage);
+    private BufferedWriter openJobLog(String stage, List<String> command) {
+        String jobId = MDC.get(JOB_ID_MDC_KEY);
+        if (ffmpegLogDirectory == null || jobId == null) {
+            return null;
         }
 
-        if (process.exitValue() != 0) {
-            throw new IOException(
-                    "FFmpeg failed during stage "
-                            + stage
-                            + " with exit code "
-                            + process.exitValue()
-                            + ". Output: "
-                            + output);
+        try {
+            Path jobLogDirectory = Files.createDirectories(ffmpegLogDirectory.resolve(safeFileName(jobId)));
+            BufferedWriter jobLog = Files.newBufferedWriter(
+                    jobLogDirectory.resolve(safeFileName(stage) + ".log"),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            jobLog.write("$ " + String.join(" ", command));
+            jobLog.newLine();
+            return jobLog;
+        } catch (IOException e) {
+            logger.warn("Unable to open FFmpeg log for job {} stage {}", jobId, stage, e);
+            return null;
         }
     }
 
+    private String safeFileName(String value) {
+        return value.replaceAll("[^A-Za-z0-9._-]+", "-");
+    }
+
+    private String formatKeyframeTimes(List<Double> frameBoundaries) {
+        // Half a frame early, so rounding never pushes the keyframe or split onto the following frame.
+        List<String> formatted = new ArrayList<>();
+        for (double frameBoundary : frameBoundaries) {
+            formatted.add(formatSeconds(frameBoundary - 0.5 / SCENE_FRAME_RATE));
+        }
+        return String.join(",", formatted);
+    }
+
     private String formatSeconds(double seconds) {
         return String.format(Locale.ROOT, "%.3f", seconds);
     }
@@ -457,4 +1309,107 @@ public class FfmpegCompositionRenderer implements CompositionRenderer {
             // Cleanup failures are non-fatal.
         }
     }
+
+    private static final class SceneStageProgress {
+
+        private final RenderProgressListener progressListener;
+        private final double[] sceneDurations;
+        private final double[] processedSeconds;
+        private final double[] speeds;
+        private final double totalSeconds;
+
+        SceneStageProgress(RenderProgressListener progressListener, List<CompositionScenePlan> scenes) {
+            this.progressListener = progressListener;
+            this.sceneDurations = scenes.stream().mapToDouble(CompositionScenePlan::durationSec).toArray();
+            this.processedSeconds = new double[sceneDurations.length];
+            this.speeds = new double[sceneDurations.length];
+            this.totalSeconds = Arrays.stream(sceneDurations).sum();
+        }
+
+        synchronized void update(int index, double outTimeSeconds, double speed) {
+            processedSeconds[index] = Math.min(outTimeSeconds, sceneDurations[index]);
+            speeds[index] = speed;
+            report();
+        }
+
+        synchronized void complete(int index) {
+            processedSeconds[index] = sceneDurations[index];
+            speeds[index] = 0.0;
+            report();
+        }
+
+        private void report() {
+            double processed = 0.0;
+            double combinedSpeed = 0.0;
+            for (int index = 0; index < sceneDurations.length; index++) {
+                processed += processedSeconds[index];
+                combinedSpeed += speeds[index];
+            }
+            progressListener.onProgress(STAGE_RENDER_SCENES, processed, totalSeconds, combinedSpeed);
+        }
+    }
+
+    /**
+     * Tracks running scene tasks, so an aborted render can stop new ones from starting and wait for the rest.
+     */
+    private static final class SceneTaskGuard {
+
+        private boolean aborted;
+        private int running;
+
+        synchronized void enter() {
+            if (aborted) {
+                throw new CancellationException("Composition render was aborted.");
+            }
+            running++;
+        }
+
+        synchronized void exit() {
+            running--;
+            notifyAll();
+        }
+
+        synchronized void abort() {
+            aborted = true;
+        }
+
+        boolean awaitIdle(Set<Process> activeProcesses, long timeoutMillis) {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (true) {
+                // A task may register a process after an earlier pass, so destroy on every pass.
+                for (Process process : activeProcesses) {
+                    process.destroyForcibly();
+                }
+                synchronized (this) {
+                    long remainingMillis = deadline - System.currentTimeMillis();
+                    if (running == 0 || remainingMillis <= 0) {
+                        return running == 0;
+                    }
+                    try {
+                        wait(Math.min(remainingMillis, 100));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class PrescaledImage {
+
+        private Path path;
+    }
+
+    private record SceneRenderResult(int index, Path clip, long elapsedMillis) {
+    }
+
+    /**
+     * Starts an FFmpeg process whose stdout carries both its log and its progress output.
+     */
+    @FunctionalInterface
+    interface ProcessLauncher {
+
+        Process start(List<String> command) throws IOException;
+    }
 }
@@ -0,0 +1,60 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+/**
+ * Keeps only the most recent FFmpeg output lines, bounded by line count and total characters,
+ * so error messages can quote the end of a long encode without holding its whole log.
+ */
+public final class FfmpegOutputTail {
+
+    private final String[] lines;
+    private final int maxChars;
+    private int first;
+    private int size;
+    private int totalChars;
+    private long droppedLines;
+
+    public FfmpegOutputTail(int maxLines, int maxChars) {
+        if (maxLines <= 0 || maxChars <= 0) {
+            throw new IllegalArgumentException("FFmpeg output tail limits must be positive.");
+        }
+        this.lines = new String[maxLines];
+        this.maxChars = maxChars;
+    }
+
+    public void append(String line) {
+        String stored = line.length() > maxChars ? line.substring(line.length() - maxChars) : line;
+        if (size == lines.length) {
+            dropOldest();
+        }
+        lines[(first + size) % lines.length] = stored;
+        size++;
+        totalChars += stored.length();
+        while (totalChars > maxChars && size > 1) {
+            dropOldest();
+        }
+    }
+
+    public int lineCount() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder(totalChars + size * 2 + 32);
+        if (droppedLines > 0) {
+            output.append("[... ").append(droppedLines).append(" earlier lines omitted]").append(System.lineSeparator());
+        }
+        for (int offset = 0; offset < size; offset++) {
+            output.append(lines[(first + offset) % lines.length]).append(System.lineSeparator());
+        }
+        return output.toString();
+    }
+
+    private void dropOldest() {
+        totalChars -= lines[first].length();
+        lines[first] = null;
+        first = (first + 1) % lines.length;
+        size--;
+        droppedLines++;
+    }
+}
@@ -0,0 +1,93 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Parses the key=value blocks FFmpeg writes with {@code -progress pipe:1} and reports one update per block.
+ */
+final class FfmpegProgressParser {
+
+    static final List<String> PROGRESS_ARGUMENTS = List.of("-progress", "pipe:1", "-nostats");
+
+    private static final Set<String> PROGRESS_KEYS = Set.of(
+            "frame",
+            "fps",
+            "bitrate",
+            "total_size",
+            "out_time_us",
+            "out_time_ms",
+            "out_time",
+            "dup_frames",
+            "drop_frames",
+            "speed",
+            "progress");
+
+    @FunctionalInterface
+    interface Callback {
+        void onProgress(double outTimeSeconds, double speed);
+    }
+
+    private final Callback callback;
+    private double outTimeSeconds;
+    private double speed;
+
+    FfmpegProgressParser(Callback callback) {
+        this.callback = callback;
+    }
+
+    static List<String> withProgressOutput(List<String> command) {
+        List<String> progressCommand = new ArrayList<>(command.size() + PROGRESS_ARGUMENTS.size());
+        progressCommand.add(command.get(0));
+        progressCommand.addAll(PROGRESS_ARGUMENTS);
+        progressCommand.addAll(command.subList(1, command.size()));
+        return progressCommand;
+    }
+
+    /**
+     * @return true when the line was a progress entry rather than regular FFmpeg log output
+     */
+    boolean accept(String line) {
+        int separator = line.indexOf('=');
+        if (separator <= 0) {
+            return false;
+        }
+        String key = line.substring(0, separator);
+        if (!PROGRESS_KEYS.contains(key) && !key.startsWith("stream_")) {
+            return false;
+        }
+
+        String value = line.substring(separator + 1).trim();
+        switch (key) {
+            case "out_time_us" -> outTimeSeconds = parseMicros(value, outTimeSeconds);
+            case "speed" -> speed = parseSpeed(value);
+            case "progress" -> callback.onProgress(outTimeSeconds, speed);
+            default -> {
+                // Other keys are not needed for progress reporting.
+            }
+        }
+        return true;
+    }
+
+    private double parseMicros(String value, double fallback) {
+        try {
+            return Math.max(Long.parseLong(value), 0L) / 1_000_000.0;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private double parseSpeed(String value) {
+        String normalized = value.toLowerCase(Locale.ROOT);
+        if (normalized.endsWith("x")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        try {
+            return Double.parseDouble(normalized.trim());
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
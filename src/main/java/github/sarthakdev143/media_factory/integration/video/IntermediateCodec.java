@@ -0,0 +1,22 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+public enum IntermediateCodec {
+    H264("mp4", true),
+    FFV1("mkv", false);
+
+    private final String containerExtension;
+    private final boolean streamCopyCompatible;
+
+    IntermediateCodec(String containerExtension, boolean streamCopyCompatible) {
+        this.containerExtension = containerExtension;
+        this.streamCopyCompatible = streamCopyCompatible;
+    }
+
+    public String containerExtension() {
+        return containerExtension;
+    }
+
+    public boolean streamCopyCompatible() {
+        return streamCopyCompatible;
+    }
+}
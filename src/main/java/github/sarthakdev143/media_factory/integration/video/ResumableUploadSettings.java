@@ -0,0 +1,26 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+import java.time.Duration;
+
+/**
+ * Chunking and retry settings for resumable YouTube uploads. YouTube requires every chunk except the last
+ * to be a multiple of 256 KiB.
+ */
+public record ResumableUploadSettings(int chunkSizeBytes, int maxRetries, Duration initialBackoff, Duration maxBackoff) {
+
+    public static final int CHUNK_GRANULARITY_BYTES = 256 * 1024;
+    public static final ResumableUploadSettings DEFAULTS =
+            new ResumableUploadSettings(32 * CHUNK_GRANULARITY_BYTES, 8, Duration.ofSeconds(1), Duration.ofSeconds(60));
+
+    public ResumableUploadSettings {
+        if (chunkSizeBytes <= 0 || chunkSizeBytes % CHUNK_GRANULARITY_BYTES != 0) {
+            throw new IllegalArgumentException("Upload chunk size must be a positive multiple of 256 KiB.");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Upload max retries must not be negative.");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Upload backoff must be non-negative and max-backoff >= initial-backoff.");
+        }
+    }
+}
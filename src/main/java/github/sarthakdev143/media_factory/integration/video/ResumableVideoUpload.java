@@ -0,0 +1,255 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.EmptyContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpContent;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.json.JsonHttpContent;
+import com.google.api.client.util.Sleeper;
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtube.model.Video;
+import github.sarthakdev143.media_factory.service.UploadProgressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * YouTube resumable upload protocol: one metadata request opens an upload session, then the file is sent in
+ * fixed-size chunks. After a failed chunk the upload asks YouTube where it stopped and continues from there
+ * instead of starting over. The session lives only as long as this object: jobs do not survive a restart, so
+ * there is nothing that could resume it later.
+ */
+final class ResumableVideoUpload {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumableVideoUpload.class);
+    private static final String VIDEO_CONTENT_TYPE = "video/mp4";
+    private static final int STATUS_RESUME_INCOMPLETE = 308;
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=0-(\\d+)");
+
+    private final YouTube youtubeService;
+    private final ResumableUploadSettings settings;
+    private final Sleeper sleeper;
+    private Session session;
+    private boolean transferStarted;
+
+    ResumableVideoUpload(YouTube youtubeService, ResumableUploadSettings settings, Sleeper sleeper) {
+        this.youtubeService = youtubeService;
+        this.settings = settings;
+        this.sleeper = sleeper;
+    }
+
+    Video upload(Video metadata, Path videoFile, UploadProgressListener progressListener) throws IOException {
+        session = null;
+        transferStarted = false;
+        return transfer(metadata, videoFile, progressListener, false);
+    }
+
+    /**
+     * Continues the session of a failed {@link #upload} from the offset YouTube acknowledged, without sending the
+     * metadata again. {@code metadata} is only used if the session has expired and a new one has to be opened.
+     */
+    Video resume(Video metadata, Path videoFile, UploadProgressListener progressListener) throws IOException {
+        return transfer(metadata, videoFile, progressListener, session != null);
+    }
+
+    private Video transfer(
+            Video metadata,
+            Path videoFile,
+            UploadProgressListener progressListener,
+            boolean needsOffsetCheck) throws IOException {
+        long size = Files.size(videoFile);
+        int failures = 0;
+
+        try (FileChannel channel = FileChannel.open(videoFile, StandardOpenOption.READ)) {
+            byte[] buffer = new byte[(int) Math.min(settings.chunkSizeBytes(), Math.max(size, 1L))];
+            while (true) {
+                try {
+                    if (session == null) {
+                        session = new Session(initiate(metadata, size), 0L);
+                    } else if (needsOffsetCheck) {
+                        ChunkResult status = send(session.uri(), new EmptyContent(), "bytes */" + size);
+                        if (status.video() != null) {
+                            progressListener.onProgress(size, size);
+                            return status.video();
+                        }
+                        session = new Session(session.uri(), status.nextOffset());
+                        progressListener.onProgress(session.offset(), size);
+                        logger.info("Resuming upload of {} at byte {} of {}", videoFile.getFileName(), session.offset(), size);
+                    }
+                    needsOffsetCheck = false;
+
+                    while (true) {
+                        int length = read(channel, buffer, session.offset(), size);
+                        transferStarted = true;
+                        String contentRange = length == 0
+                                ? "bytes */" + size
+                                : "bytes " + session.offset() + "-" + (session.offset() + length - 1) + "/" + size;
+                        ChunkResult result = send(
+                                session.uri(),
+                                new ByteArrayContent(VIDEO_CONTENT_TYPE, buffer, 0, length),
+                                contentRange);
+                        if (result.video() != null) {
+                            progressListener.onProgress(size, size);
+                            return result.video();
+                        }
+                        session = new Session(session.uri(), result.nextOffset());
+                        progressListener.onProgress(session.offset(), size);
+                        failures = 0;
+                    }
+                } catch (IOException e) {
+                    if (!isRetryable(e) || ++failures > settings.maxRetries()) {
+                        throw e;
+                    }
+                    if (isSessionExpired(e)) {
+                        logger.warn("Upload session for {} expired; starting a new session", videoFile.getFileName());
+                        session = null;
+                    } else {
+                        needsOffsetCheck = session != null;
+                    }
+                    long delayMillis = backoffMillis(failures);
+                    logger.warn(
+                            "Upload of {} failed (attempt {}/{}); retrying in {} ms: {}",
+                            videoFile.getFileName(),
+                            failures,
+                            settings.maxRetries(),
+                            delayMillis,
+                            e.getMessage());
+                    sleep(delayMillis);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether any part of the file has been sent. Until then a rejected upload cost only its metadata request.
+     */
+    boolean transferStarted() {
+        return transferStarted;
+    }
+
+    long backoffMillis(int failures) {
+        long initialMillis = settings.initialBackoff().toMillis();
+        long maxMillis = settings.maxBackoff().toMillis();
+        long exponentialMillis = initialMillis << Math.min(failures - 1, 20);
+        long capMillis = Math.min(exponentialMillis < 0 ? maxMillis : exponentialMillis, maxMillis);
+        // Equal jitter: half the delay is fixed, half is random, so concurrent retries spread out.
+        return capMillis / 2 + ThreadLocalRandom.current().nextLong(capMillis / 2 + 1);
+    }
+
+    private String initiate(Video metadata, long size) throws IOException {
+        GenericUrl url = new GenericUrl(youtubeService.getRootUrl() + "upload/" + youtubeService.getServicePath() + "videos");
+        url.set("uploadType", "resumable");
+        url.set("part", "snippet,status");
+
+        HttpRequest request = youtubeService.getRequestFactory()
+                .buildPostRequest(url, new JsonHttpContent(youtubeService.getJsonFactory(), metadata));
+        request.getHeaders().set("X-Upload-Content-Type", VIDEO_CONTENT_TYPE);
+        request.getHeaders().set("X-Upload-Content-Length", size);
+        request.setThrowExceptionOnExecuteError(false);
+
+        HttpResponse response = request.execute();
+        try {
+            if (!response.isSuccessStatusCode()) {
+                throw GoogleJsonResponseException.from(youtubeService.getJsonFactory(), response);
+            }
+            String location = response.getHeaders().getLocation();
+            if (location == null || location.isBlank()) {
+                throw new IOException("YouTube did not return an upload session URI.");
+            }
+            return location;
+        } finally {
+            response.disconnect();
+        }
+    }
+
+    private ChunkResult send(String sessionUri, HttpContent content, String contentRange) throws IOException {
+        HttpRequest request = youtubeService.getRequestFactory().buildPutRequest(new GenericUrl(sessionUri), content);
+        request.getHeaders().setContentRange(contentRange);
+        request.setParser(youtubeService.getObjectParser());
+        request.setFollowRedirects(false);
+        request.setThrowExceptionOnExecuteError(false);
+
+        HttpResponse response = request.execute();
+        try {
+            if (response.isSuccessStatusCode()) {
+                return new ChunkResult(response.parseAs(Video.class), -1L);
+            }
+            if (response.getStatusCode() == STATUS_RESUME_INCOMPLETE) {
+                return new ChunkResult(null, nextOffset(response.getHeaders().getRange()));
+            }
+            throw GoogleJsonResponseException.from(youtubeService.getJsonFactory(), response);
+        } finally {
+            response.disconnect();
+        }
+    }
+
+    private long nextOffset(String range) {
+        if (range == null) {
+            return 0L;
+        }
+        Matcher matcher = RANGE_PATTERN.matcher(range.trim());
+        if (!matcher.matches()) {
+            return 0L;
+        }
+        return Long.parseLong(matcher.group(1)) + 1L;
+    }
+
+    private int read(FileChannel channel, byte[] buffer, long offset, long size) throws IOException {
+        int length = (int) Math.min(buffer.length, size - offset);
+        ByteBuffer target = ByteBuffer.wrap(buffer, 0, length);
+        while (target.hasRemaining()) {
+            if (channel.read(target, offset + target.position()) < 0) {
+                throw new IOException("Video file shrank during upload at byte " + (offset + target.position()));
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Only transport failures are retried. Errors reading the local file, such as the file shrinking, would fail the
+     * same way on every attempt.
+     */
+    private boolean isRetryable(IOException error) {
+        if (error instanceof HttpResponseException responseError) {
+            int status = responseError.getStatusCode();
+            return status >= 500 || status == 429 || status == 404 || status == 410;
+        }
+        return error instanceof SocketException || error instanceof SocketTimeoutException;
+    }
+
+    private boolean isSessionExpired(IOException error) {
+        return error instanceof HttpResponseException responseError
+                && (responseError.getStatusCode() == 404 || responseError.getStatusCode() == 410);
+    }
+
+    private void sleep(long delayMillis) throws IOException {
+        try {
+            sleeper.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry upload.");
+        }
+    }
+
+    private record Session(String uri, long offset) {
+    }
+
+    private record ChunkResult(Video video, long nextOffset) {
+    }
+}
@@ -0,0 +1,239 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Disk LRU of render artifacts: scene clips and pre-scaled image frames. Entries are stored as {@code <key><ext>},
+ * where the extension is taken from the file being stored, so each entry keeps its real container or image type.
+ */
+@Component
+public class SceneClipCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SceneClipCache.class);
+    private static final String DEFAULT_SUFFIX = ".mp4";
+    private static final String STAGING_SUFFIX = ".tmp";
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    private final Path cacheDirectory;
+    private final long maxSizeBytes;
+    private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private long totalSizeBytes;
+
+    public SceneClipCache(
+            @Value("${media-factory.render.scene-cache.directory:${java.io.tmpdir}/media-factory-scene-cache}") Path cacheDirectory,
+            @Value("${media-factory.render.scene-cache.max-size-mb:10240}") long maxSizeMegabytes,
+            MeterRegistry meterRegistry) {
+        this.cacheDirectory = cacheDirectory;
+        this.maxSizeBytes = Math.max(maxSizeMegabytes, 0L) * BYTES_PER_MEGABYTE;
+        this.hitCounter = meterRegistry.counter("media_factory.render.scene_cache.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("media_factory.render.scene_cache.requests", "result", "miss");
+        this.evictionCounter = meterRegistry.counter("media_factory.render.scene_cache.evictions");
+        meterRegistry.gauge("media_factory.render.scene_cache.size_bytes", this, SceneClipCache::totalSizeBytes);
+        meterRegistry.gauge("media_factory.render.scene_cache.entries", this, SceneClipCache::entryCount);
+
+        if (isEnabled()) {
+            loadExistingEntries();
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxSizeBytes > 0;
+    }
+
+    public boolean copyTo(String key, Path target) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        String entryName = entryName(key, target);
+        Path cachedClip;
+        synchronized (this) {
+            if (entries.get(entryName) == null) {
+                missCounter.increment();
+                return false;
+            }
+            cachedClip = cacheDirectory.resolve(entryName);
+        }
+
+        try {
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, cachedClip);
+            } catch (UnsupportedOperationException | IOException linkError) {
+                Files.copy(cachedClip, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.setLastModifiedTime(cachedClip, FileTime.from(Instant.now()));
+            hitCounter.increment();
+            return true;
+        } catch (NoSuchFileException evicted) {
+            missCounter.increment();
+            return false;
+        } catch (IOException e) {
+            logger.warn("Failed to read cached scene clip {}", key, e);
+            missCounter.increment();
+            return false;
+        }
+    }
+
+    public void store(String key, Path clip) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            long size = Files.size(clip);
+            if (size > maxSizeBytes) {
+                return;
+            }
+
+            Files.createDirectories(cacheDirectory);
+            String entryName = entryName(key, clip);
+            Path stagingFile = cacheDirectory.resolve(key + "-" + UUID.randomUUID() + STAGING_SUFFIX);
+            Files.copy(clip, stagingFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(
+                    stagingFile,
+                    cacheDirectory.resolve(entryName),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            synchronized (this) {
+                Long previousSize = entries.put(entryName, size);
+                totalSizeBytes += size - (previousSize == null ? 0L : previousSize);
+                evictToBudget();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to store scene clip {} in cache", key, e);
+        }
+    }
+
+    public String keyFor(String assetHash, String sceneFingerprint, String outputPreset, List<String> commandTemplate) {
+        MessageDigest digest = newSha256();
+        for (String part : List.of(assetHash, sceneFingerprint, outputPreset, String.join("\u0000", commandTemplate))) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    synchronized long totalSizeBytes() {
+        return totalSizeBytes;
+    }
+
+    synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalSizeBytes > maxSizeBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalSizeBytes -= eldest.getValue();
+            evictionCounter.increment();
+            try {
+                Files.deleteIfExists(cacheDirectory.resolve(eldest.getKey()));
+            } catch (IOException ignored) {
+                // Cleanup failures are non-fatal.
+            }
+        }
+    }
+
+    private synchronized void loadExistingEntries() {
+        if (Files.notExists(cacheDirectory)) {
+            return;
+        }
+
+        List<Path> clips = new ArrayList<>();
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            files.forEach(file -> {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(STAGING_SUFFIX)) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException ignored) {
+                        // Cleanup failures are non-fatal.
+                    }
+                } else if (Files.isRegularFile(file)) {
+                    clips.add(file);
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to scan scene clip cache directory {}", cacheDirectory, e);
+            return;
+        }
+
+        clips.sort((left, right) -> Long.compare(lastModifiedMillis(left), lastModifiedMillis(right)));
+        for (Path clip : clips) {
+            try {
+                long size = Files.size(clip);
+                entries.put(clip.getFileName().toString(), size);
+                totalSizeBytes += size;
+            } catch (IOException ignored) {
+                // Entry disappeared while loading; skip it.
+            }
+        }
+        evictToBudget();
+    }
+
+    private long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private String entryName(String key, Path file) {
+        String fileName = file.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        return key + (extensionIndex > 0 ? fileName.substring(extensionIndex) : DEFAULT_SUFFIX);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package github.sarthakdev143.media_factory.integration.video;
 
 import com.google.api.client.http.FileContent;
 import com.google.api.client.util.DateTime;
+import com.google.api.client.util.Sleeper;
 import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import com.google.api.services.youtube.YouTube;
@@ -12,6 +13,8 @@ import github.sarthakdev143.media_factory.integration.youtube.YouTubeServiceFact
 import github.sarthakdev143.media_factory.model.PrivacyStatus;
 import github.sarthakdev143.media_factory.model.PublishOptions;
 import github.sarthakdev143.media_factory.model.UploadResult;
+import github.sarthakdev143.media_factory.service.RenderProgressListener;
+import github.sarthakdev143.media_factory.service.UploadProgressListener;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -25,12 +28,25 @@ public class VideoGeneratorUploader {
 
     private static final String FFMPEG_PATH_ENV = "FFMPEG_PATH";
     private static final String DEFAULT_FFMPEG_BINARY = "ffmpeg";
+    private static final String GENERATE_STAGE = "render";
 
     // YouTube API service (you must configure OAuth2)
     private final YouTube youtubeService;
+    private final ResumableUploadSettings uploadSettings;
+    private final Sleeper retrySleeper;
 
     public VideoGeneratorUploader(YouTube youtubeService) {
+        this(youtubeService, ResumableUploadSettings.DEFAULTS);
+    }
+
+    public VideoGeneratorUploader(YouTube youtubeService, ResumableUploadSettings uploadSettings) {
+        this(youtubeService, uploadSettings, Sleeper.DEFAULT);
+    }
+
+    VideoGeneratorUploader(YouTube youtubeService, ResumableUploadSettings uploadSettings, Sleeper retrySleeper) {
         this.youtubeService = youtubeService;
+        this.uploadSettings = uploadSettings;
+        this.retrySleeper = retrySleeper;
     }
 
     /**
@@ -44,6 +60,19 @@ public class VideoGeneratorUploader {
      */
     public void generateVideo(String imagePath, String audioPath, int durationSeconds, String outputPath)
             throws IOException, InterruptedException {
+        generateVideo(imagePath, audioPath, durationSeconds, outputPath, RenderProgressListener.NONE);
+    }
+
+    /**
+     * Generates a video from a single image and looping audio, reporting FFmpeg progress as it encodes
+     * @param progressListener receives encoded seconds against durationSeconds
+     */
+    public void generateVideo(
+            String imagePath,
+            String audioPath,
+            int durationSeconds,
+            String outputPath,
+            RenderProgressListener progressListener) throws IOException, InterruptedException {
 
         List<String> command = new ArrayList<>();
         command.add(resolveFfmpegBinary());
@@ -69,7 +98,9 @@ public class VideoGeneratorUploader {
         command.add("-y"); // overwrite if exists
         command.add(outputPath);
 
-        ProcessBuilder pb = new ProcessBuilder(command);
+        FfmpegProgressParser progressParser = new FfmpegProgressParser((outTimeSeconds, speed) ->
+                progressListener.onProgress(GENERATE_STAGE, outTimeSeconds, durationSeconds, speed));
+        ProcessBuilder pb = new ProcessBuilder(FfmpegProgressParser.withProgressOutput(command));
         pb.redirectErrorStream(true);
         Process process = pb.start();
 
@@ -77,7 +108,9 @@ public class VideoGeneratorUploader {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                System.out.println(line);
+                if (!progressParser.accept(line)) {
+                    System.out.println(line);
+                }
             }
         }
 
@@ -98,7 +131,7 @@ public class VideoGeneratorUploader {
     }
 
     /**
-     * Uploads video to YouTube.
+     * Uploads video to YouTube in resumable chunks, retrying transient failures from the last acknowledged chunk.
      * @param videoPath path to video
      * @param title video title
      * @param description video description
@@ -111,13 +144,27 @@ public class VideoGeneratorUploader {
             String title,
             String description,
             PublishOptions publishOptions) throws IOException {
+        return uploadToYouTube(videoPath, title, description, publishOptions, UploadProgressListener.NONE);
+    }
+
+    /**
+     * Uploads video to YouTube, reporting acknowledged bytes after every chunk
+     * @param progressListener receives bytes YouTube has acknowledged against the file size
+     */
+    public UploadResult uploadToYouTube(
+            String videoPath,
+            String title,
+            String description,
+            PublishOptions publishOptions,
+            UploadProgressListener progressListener) throws IOException {
         File videoFile = new File(videoPath);
         PublishOptions resolvedOptions = publishOptions == null
                 ? new PublishOptions(PrivacyStatus.PRIVATE, List.of(), null, null)
                 : publishOptions;
 
+        ResumableVideoUpload upload = new ResumableVideoUpload(youtubeService, uploadSettings, retrySleeper);
         try {
-            Video response = executeUpload(videoFile, title, description, resolvedOptions);
+            Video response = executeUpload(upload, videoFile, title, description, resolvedOptions, progressListener);
             System.out.println("Uploaded video ID: " + response.getId());
             return new UploadResult(response.getId());
         } catch (GoogleJsonResponseException categoryError) {
@@ -131,7 +178,19 @@ public class VideoGeneratorUploader {
                     null,
                     resolvedOptions.publishAt());
 
-            Video fallbackResponse = executeUpload(videoFile, title, description, fallbackOptions);
+            Video fallbackResponse;
+            if (!upload.transferStarted()) {
+                // Rejected when the session was opened: only the metadata request is sent again.
+                fallbackResponse = executeUpload(upload, videoFile, title, description, fallbackOptions, progressListener);
+            } else {
+                // Rejected after bytes were sent: finish the same session, then drop the category with a
+                // metadata-only update instead of sending the file again.
+                Video uploaded = upload.resume(
+                        buildMetadata(title, description, fallbackOptions),
+                        videoFile.toPath(),
+                        progressListener);
+                fallbackResponse = removeCategory(uploaded.getId(), title, description, fallbackOptions);
+            }
             System.out.println("Uploaded video ID without category: " + fallbackResponse.getId());
             return new UploadResult(
                     fallbackResponse.getId(),
@@ -139,11 +198,25 @@ public class VideoGeneratorUploader {
         }
     }
 
+    private Video removeCategory(String videoId, String title, String description, PublishOptions publishOptions)
+            throws IOException {
+        Video update = new Video();
+        update.setId(videoId);
+        update.setSnippet(buildMetadata(title, description, publishOptions).getSnippet());
+        return youtubeService.videos().update(List.of("snippet"), update).execute();
+    }
+
     private Video executeUpload(
+            ResumableVideoUpload upload,
             File videoFile,
             String title,
             String description,
-            PublishOptions publishOptions) throws IOException {
+            PublishOptions publishOptions,
+            UploadProgressListener progressListener) throws IOException {
+        return upload.upload(buildMetadata(title, description, publishOptions), videoFile.toPath(), progressListener);
+    }
+
+    private Video buildMetadata(String title, String description, PublishOptions publishOptions) {
         Video videoObjectDefiningMetadata = new Video();
         VideoStatus status = new VideoStatus();
         status.setPrivacyStatus(publishOptions.privacyStatus().toApiValue());
@@ -163,10 +236,7 @@ public class VideoGeneratorUploader {
         }
         videoObjectDefiningMetadata.setSnippet(snippet);
 
-        FileContent mediaContent = new FileContent("video/mp4", videoFile);
-        YouTube.Videos.Insert request = youtubeService.videos()
-                .insert(List.of("snippet", "status"), videoObjectDefiningMetadata, mediaContent);
-        return request.execute();
+        return videoObjectDefiningMetadata;
     }
 
     private boolean isInvalidCategoryError(GoogleJsonResponseException exception) {
@@ -1,13 +1,61 @@
 package github.sarthakdev143.media_factory.integration.youtube;
 
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
 import com.google.api.services.youtube.YouTube;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Hands every job the same YouTube client. The client, its pooled transport and its OAuth credential are
+ * built once, on first use; sharing the credential means an expired token is refreshed once, under the
+ * credential's lock, rather than by every concurrent upload.
+ */
 @Component
 public class DefaultYouTubeServiceProvider implements YouTubeServiceProvider {
 
+    private final int maxConnections;
+    private final Duration idleTimeout;
+    private final MeterRegistry meterRegistry;
+    private ApacheHttpTransport httpTransport;
+    private volatile YouTube service;
+
+    public DefaultYouTubeServiceProvider(
+            @Value("${media-factory.youtube.http.max-connections:20}") int maxConnections,
+            @Value("${media-factory.youtube.http.idle-timeout:60s}") Duration idleTimeout,
+            MeterRegistry meterRegistry) {
+        this.maxConnections = maxConnections;
+        this.idleTimeout = idleTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     public YouTube getService() throws Exception {
-        return YouTubeServiceFactory.getService();
+        YouTube current = service;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (service == null) {
+                if (httpTransport == null) {
+                    httpTransport = YouTubeHttpTransportFactory.create(maxConnections, idleTimeout, meterRegistry);
+                }
+                // Not cached on failure, so a job submitted after the OAuth setup is fixed can succeed.
+                service = YouTubeServiceFactory.getService(httpTransport);
+            }
+            return service;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (httpTransport != null) {
+            httpTransport.shutdown();
+        }
     }
 }
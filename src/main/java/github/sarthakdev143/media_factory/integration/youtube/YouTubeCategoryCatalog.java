@@ -0,0 +1,141 @@
+package github.sarthakdev143.media_factory.integration.youtube;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpStatusCodes;
+import com.google.api.services.youtube.model.VideoCategory;
+import com.google.api.services.youtube.model.VideoCategoryListResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Assignable video category IDs per region, fetched with {@code videoCategories.list} and refreshed once they are
+ * older than the refresh interval. Jobs use it to drop a bad categoryId before opening an upload session. One job
+ * at a time refreshes a region; jobs that find the refresh in progress use the list they already have.
+ */
+@Component
+public class YouTubeCategoryCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(YouTubeCategoryCatalog.class);
+    private static final Duration FAILED_FETCH_RETRY = Duration.ofMinutes(1);
+
+    private final YouTubeServiceProvider youTubeServiceProvider;
+    private final String defaultRegionCode;
+    private final Duration refreshInterval;
+    private final Clock clock;
+    private final Map<String, Categories> categoriesByRegion = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> refreshLocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public YouTubeCategoryCatalog(
+            YouTubeServiceProvider youTubeServiceProvider,
+            @Value("${media-factory.youtube.categories.region:US}") String defaultRegionCode,
+            @Value("${media-factory.youtube.categories.refresh-interval:12h}") Duration refreshInterval) {
+        this(youTubeServiceProvider, defaultRegionCode, refreshInterval, Clock.systemUTC());
+    }
+
+    YouTubeCategoryCatalog(
+            YouTubeServiceProvider youTubeServiceProvider,
+            String defaultRegionCode,
+            Duration refreshInterval,
+            Clock clock) {
+        if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+            throw new IllegalArgumentException("media-factory.youtube.categories.refresh-interval must be positive.");
+        }
+        this.youTubeServiceProvider = youTubeServiceProvider;
+        this.defaultRegionCode = defaultRegionCode.toUpperCase(Locale.ROOT);
+        this.refreshInterval = refreshInterval;
+        this.clock = clock;
+    }
+
+    public boolean isKnownInvalid(String categoryId) {
+        return isKnownInvalid(defaultRegionCode, categoryId);
+    }
+
+    /**
+     * True only when the region's catalog is loaded and does not list {@code categoryId} as assignable. While the
+     * catalog cannot be fetched every ID is given the benefit of the doubt.
+     */
+    public boolean isKnownInvalid(String regionCode, String categoryId) {
+        if (categoryId == null) {
+            return false;
+        }
+        Set<String> assignable = assignableCategoryIds(regionCode.toUpperCase(Locale.ROOT));
+        return assignable != null && !assignable.isEmpty() && !assignable.contains(categoryId);
+    }
+
+    private Set<String> assignableCategoryIds(String regionCode) {
+        Categories cached = categoriesByRegion.get(regionCode);
+        if (cached != null && clock.instant().isBefore(cached.refreshAt())) {
+            return cached.ids();
+        }
+        ReentrantLock refreshLock = refreshLocks.computeIfAbsent(regionCode, region -> new ReentrantLock());
+        if (!refreshLock.tryLock()) {
+            return cached == null ? null : cached.ids();
+        }
+        try {
+            Categories current = categoriesByRegion.get(regionCode);
+            if (current != null && clock.instant().isBefore(current.refreshAt())) {
+                return current.ids();
+            }
+            Categories refreshed = refresh(regionCode, current == null ? null : current.ids());
+            categoriesByRegion.put(regionCode, refreshed);
+            return refreshed.ids();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Categories refresh(String region, Set<String> previousIds) {
+        try {
+            Set<String> ids = fetch(region);
+            return new Categories(ids, clock.instant().plus(refreshInterval));
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() == HttpStatusCodes.STATUS_CODE_FORBIDDEN) {
+                // Retrying every minute cannot fix a missing scope; wait for the next regular refresh.
+                logger.warn(
+                        "Not allowed to list YouTube categories for region {} ({}); the OAuth token needs the "
+                                + "youtube.readonly scope. Category IDs are not checked until the next refresh.",
+                        region,
+                        e.getStatusMessage());
+                return new Categories(previousIds, clock.instant().plus(refreshInterval));
+            }
+            logger.warn("Could not refresh YouTube categories for region {}; keeping the previous list", region, e);
+            return new Categories(previousIds, clock.instant().plus(FAILED_FETCH_RETRY));
+        } catch (Exception e) {
+            logger.warn("Could not refresh YouTube categories for region {}; keeping the previous list", region, e);
+            return new Categories(previousIds, clock.instant().plus(FAILED_FETCH_RETRY));
+        }
+    }
+
+    private Set<String> fetch(String regionCode) throws Exception {
+        VideoCategoryListResponse response = youTubeServiceProvider.getService()
+                .videoCategories()
+                .list(List.of("snippet"))
+                .setRegionCode(regionCode)
+                .execute();
+        List<VideoCategory> items = response.getItems() == null ? List.of() : response.getItems();
+        Set<String> ids = items.stream()
+                .filter(category -> category.getSnippet() != null && Boolean.TRUE.equals(category.getSnippet().getAssignable()))
+                .map(VideoCategory::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        logger.info("Loaded {} assignable YouTube categories for region {}", ids.size(), regionCode);
+        return ids;
+    }
+
+    private record Categories(Set<String> ids, Instant refreshAt) {
+    }
+}
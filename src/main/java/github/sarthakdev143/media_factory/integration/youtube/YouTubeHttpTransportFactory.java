@@ -0,0 +1,87 @@
+package github.sarthakdev143.media_factory.integration.youtube;
+
+import com.google.api.client.googleapis.GoogleUtils;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
+import com.google.api.client.util.SslUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the keep-alive HTTP transport shared by every YouTube call. Connections are pooled per route, so
+ * uploads after the first reuse an open TLS connection instead of repeating the handshake.
+ */
+public final class YouTubeHttpTransportFactory {
+
+    private static final int SOCKET_TIMEOUT_MILLIS = (int) TimeUnit.MINUTES.toMillis(2);
+    private static final int VALIDATE_AFTER_INACTIVITY_MILLIS = (int) TimeUnit.SECONDS.toMillis(2);
+
+    private YouTubeHttpTransportFactory() {
+    }
+
+    public static ApacheHttpTransport create(int maxConnections, Duration idleTimeout, MeterRegistry meterRegistry)
+            throws GeneralSecurityException, IOException {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("media-factory.youtube.http.max-connections must be positive.");
+        }
+
+        SSLContext sslContext = SslUtils.initSslContext(
+                SslUtils.getTlsSslContext(),
+                GoogleUtils.getCertificateTrustStore(),
+                SslUtils.getPkixTrustManagerFactory());
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslContext))
+                .build();
+
+        Counter connectionsCreated = meterRegistry.counter("media_factory.youtube.http.connections.created");
+        Counter requests = meterRegistry.counter("media_factory.youtube.http.requests");
+        HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> connectionFactory = (route, config) -> {
+            connectionsCreated.increment();
+            return ManagedHttpClientConnectionFactory.INSTANCE.create(route, config);
+        };
+
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(socketFactories, connectionFactory);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLIS);
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(SOCKET_TIMEOUT_MILLIS).build());
+        meterRegistry.gauge(
+                "media_factory.youtube.http.connections",
+                Tags.of("state", "leased"),
+                connectionManager,
+                manager -> manager.getTotalStats().getLeased());
+        meterRegistry.gauge(
+                "media_factory.youtube.http.connections",
+                Tags.of("state", "idle"),
+                connectionManager,
+                manager -> manager.getTotalStats().getAvailable());
+
+        HttpClientBuilder httpClient = ApacheHttpTransport.newDefaultHttpClientBuilder()
+                .setConnectionManager(connectionManager)
+                .addInterceptorFirst((HttpRequestInterceptor) (request, context) -> requests.increment())
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .evictExpiredConnections();
+        return new ApacheHttpTransport(httpClient.build());
+    }
+}
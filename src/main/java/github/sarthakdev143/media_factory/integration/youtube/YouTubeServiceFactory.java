@@ -37,13 +37,19 @@ public class YouTubeServiceFactory {
     private static final Path TOKENS_DIR_PATH = Path.of(".youtube-tokens");
     private static final int OAUTH_CALLBACK_PORT = 8888;
     private static final String OAUTH_CALLBACK_PATH = "/oauth2callback";
-    private static final String OAUTH_USER_ID = "default-user";
+    // Stored tokens do not record their scopes, so the ID names them: changing SCOPES forces a new consent
+    // instead of reusing a token that lacks the new scope.
+    private static final String OAUTH_USER_ID = "default-user-upload-readonly";
     private static final String OAUTH_CALLBACK_URI = "http://localhost:" + OAUTH_CALLBACK_PORT + OAUTH_CALLBACK_PATH;
-    private static final List<String> SCOPES = List.of(YouTubeScopes.YOUTUBE_UPLOAD);
+    // youtube.readonly is needed for videoCategories.list (see YouTubeCategoryCatalog).
+    private static final List<String> SCOPES = List.of(YouTubeScopes.YOUTUBE_UPLOAD, YouTubeScopes.YOUTUBE_READONLY);
 
     public static YouTube getService() throws GeneralSecurityException, IOException {
+        return getService(GoogleNetHttpTransport.newTrustedTransport());
+    }
+
+    public static YouTube getService(HttpTransport httpTransport) throws IOException {
         Path credentialsPath = resolveCredentialsPath();
-        HttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
         JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
         Credential credential = authorize(credentialsPath, httpTransport, jsonFactory);
 
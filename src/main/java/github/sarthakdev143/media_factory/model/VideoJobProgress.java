@@ -0,0 +1,46 @@
+package github.sarthakdev143.media_factory.model;
+
+public record VideoJobProgress(
+        String stage,
+        double percentComplete,
+        Double encodeSpeed,
+        Long etaSeconds,
+        Long bytesSent,
+        Long totalBytes,
+        Double bytesPerSecond) {
+
+    public static final String UPLOAD_STAGE = "upload";
+
+    public VideoJobProgress(String stage, double percentComplete, Double encodeSpeed, Long etaSeconds) {
+        this(stage, percentComplete, encodeSpeed, etaSeconds, null, null, null);
+    }
+
+    public static VideoJobProgress of(String stage, double processedSeconds, double totalSeconds, double speed) {
+        double percentComplete = totalSeconds > 0
+                ? Math.min(Math.max(processedSeconds / totalSeconds * 100.0, 0.0), 100.0)
+                : 0.0;
+        Double encodeSpeed = speed > 0 ? speed : null;
+        Long etaSeconds = speed > 0 && totalSeconds > 0
+                ? Math.round(Math.max(totalSeconds - processedSeconds, 0.0) / speed)
+                : null;
+        return new VideoJobProgress(stage, Math.round(percentComplete * 10.0) / 10.0, encodeSpeed, etaSeconds);
+    }
+
+    public static VideoJobProgress ofUpload(long bytesSent, long totalBytes, double bytesPerSecond) {
+        double percentComplete = totalBytes > 0
+                ? Math.min(Math.max((double) bytesSent / totalBytes * 100.0, 0.0), 100.0)
+                : 0.0;
+        Double throughput = bytesPerSecond > 0 ? Math.round(bytesPerSecond * 10.0) / 10.0 : null;
+        Long etaSeconds = bytesPerSecond > 0
+                ? Math.round(Math.max(totalBytes - bytesSent, 0L) / bytesPerSecond)
+                : null;
+        return new VideoJobProgress(
+                UPLOAD_STAGE,
+                Math.round(percentComplete * 10.0) / 10.0,
+                null,
+                etaSeconds,
+                bytesSent,
+                totalBytes,
+                throughput);
+    }
+}
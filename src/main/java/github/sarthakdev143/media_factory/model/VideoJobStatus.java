@@ -15,7 +15,8 @@ public record VideoJobStatus(
         Instant publishAt,
         String youtubeVideoId,
         String youtubeVideoUrl,
-        String warningMessage) {
+        String warningMessage,
+        VideoJobProgress progress) {
 
     public VideoJobStatus {
         tags = tags == null ? List.of() : List.copyOf(tags);
@@ -11,10 +11,21 @@ public record CompositionRenderPlan(
         List<CompositionScenePlan> scenes,
         Path audioPath,
         Map<String, Path> assetPaths,
+        Map<String, String> assetHashes,
         double totalDurationSec) {
 
     public CompositionRenderPlan {
         scenes = scenes == null ? List.of() : List.copyOf(scenes);
         assetPaths = assetPaths == null ? Map.of() : Map.copyOf(assetPaths);
+        assetHashes = assetHashes == null ? Map.of() : Map.copyOf(assetHashes);
+    }
+
+    public CompositionRenderPlan(
+            OutputPreset outputPreset,
+            List<CompositionScenePlan> scenes,
+            Path audioPath,
+            Map<String, Path> assetPaths,
+            double totalDurationSec) {
+        this(outputPreset, scenes, audioPath, assetPaths, Map.of(), totalDurationSec);
     }
 }
@@ -0,0 +1,378 @@
+package github.sarthakdev143.media_factory.repository;
+
+import github.sarthakdev143.media_factory.model.VideoJobState;
+import github.sarthakdev143.media_factory.model.VideoJobStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Append-only job status log. Every save or update appends one JSON line; an in-memory index maps each
+ * job id to the offset of its latest line, so reads are a single positional read. The log is rewritten
+ * with only live, unexpired records once superseded lines outweigh live ones. The rewrite runs on a background
+ * thread from a snapshot of the index; the lock is only held to copy records appended meanwhile and swap the
+ * files.
+ */
+@Component
+@ConditionalOnProperty(name = "media-factory.jobs.store", havingValue = "file", matchIfMissing = true)
+public class FileVideoJobRepository implements VideoJobRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileVideoJobRepository.class);
+    private static final String LOG_FILE_NAME = "jobs.log";
+    private static final String COMPACTION_FILE_NAME = "jobs.log.compacting";
+    private static final long MIN_COMPACTION_BYTES = 8L * 1024L * 1024L;
+    private static final Duration COMPACTION_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final byte NEWLINE = '\n';
+
+    private final Path logFile;
+    private final Duration retention;
+    private final long minCompactionBytes;
+    private final Executor compactionExecutor;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Map<String, LogPosition> index = new HashMap<>();
+    private final Set<String> unfinishedJobIds = new HashSet<>();
+    private final Map<VideoJobState, Long> stateCounts = new EnumMap<>(VideoJobState.class);
+    private FileChannel channel;
+    private long liveBytes;
+    private boolean compactionPending;
+    private boolean closed;
+
+    public FileVideoJobRepository(
+            @Value("${media-factory.jobs.directory:.media-factory-jobs}") Path directory,
+            @Value("${media-factory.jobs.retention:7d}") Duration retention) throws IOException {
+        this(directory, retention, MIN_COMPACTION_BYTES, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-log-compaction");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    FileVideoJobRepository(Path directory, Duration retention, long minCompactionBytes, Executor compactionExecutor)
+            throws IOException {
+        this.logFile = directory.resolve(LOG_FILE_NAME);
+        this.retention = retention;
+        this.minCompactionBytes = minCompactionBytes;
+        this.compactionExecutor = compactionExecutor;
+
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(COMPACTION_FILE_NAME));
+        long startNanos = System.nanoTime();
+        this.channel = openLog();
+        loadIndex();
+        logger.info(
+                "Loaded {} jobs from {} ({} bytes) in {} ms",
+                index.size(),
+                logFile,
+                channel.size(),
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        compactIfNeeded();
+    }
+
+    @Override
+    public synchronized void save(VideoJobStatus status) {
+        append(status);
+        compactIfNeeded();
+    }
+
+    @Override
+    public synchronized Optional<VideoJobStatus> findById(String jobId) {
+        LogPosition position = index.get(jobId);
+        return position == null ? Optional.empty() : Optional.of(read(channel, position));
+    }
+
+    @Override
+    public synchronized Optional<VideoJobStatus> update(String jobId, UnaryOperator<VideoJobStatus> updater) {
+        LogPosition position = index.get(jobId);
+        if (position == null) {
+            return Optional.empty();
+        }
+        VideoJobStatus updated = updater.apply(read(channel, position));
+        append(updated);
+        compactIfNeeded();
+        return Optional.of(updated);
+    }
+
+    @Override
+    public synchronized List<VideoJobStatus> findUnfinished() {
+        List<VideoJobStatus> unfinished = new ArrayList<>();
+        for (String jobId : unfinishedJobIds) {
+            unfinished.add(read(channel, index.get(jobId)));
+        }
+        return unfinished;
+    }
+
+    @Override
+    public synchronized long countByState(VideoJobState state) {
+        return stateCounts.getOrDefault(state, 0L);
+    }
+
+    synchronized long logSizeBytes() throws IOException {
+        return channel.size();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+        }
+        if (compactionExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            try {
+                executorService.awaitTermination(COMPACTION_SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    private void append(VideoJobStatus status) {
+        byte[] record = serialize(status);
+        try {
+            long offset = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            index(status, new LogPosition(offset, record.length, status.state()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append job " + status.jobId() + " to " + logFile, e);
+        }
+    }
+
+    private void index(VideoJobStatus status, LogPosition position) {
+        LogPosition previous = index.put(status.jobId(), position);
+        liveBytes += position.length() - (previous == null ? 0 : previous.length());
+        if (previous != null) {
+            stateCounts.merge(previous.state(), -1L, Long::sum);
+        }
+        stateCounts.merge(position.state(), 1L, Long::sum);
+        if (isUnfinished(status)) {
+            unfinishedJobIds.add(status.jobId());
+        } else {
+            unfinishedJobIds.remove(status.jobId());
+        }
+    }
+
+    private VideoJobStatus read(FileChannel source, LogPosition position) {
+        ByteBuffer buffer = ByteBuffer.allocate(position.length());
+        try {
+            while (buffer.hasRemaining()) {
+                if (source.read(buffer, position.offset() + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of job log at offset " + position.offset());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read job log " + logFile, e);
+        }
+        return jsonMapper.readValue(buffer.array(), 0, position.length() - 1, VideoJobStatus.class);
+    }
+
+    private byte[] serialize(VideoJobStatus status) {
+        byte[] json = jsonMapper.writeValueAsBytes(status);
+        byte[] record = new byte[json.length + 1];
+        System.arraycopy(json, 0, record, 0, json.length);
+        record[json.length] = NEWLINE;
+        return record;
+    }
+
+    private void loadIndex() throws IOException {
+        long offset = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+        byte[] chunk = new byte[1 << 16];
+        try (InputStream input = Files.newInputStream(logFile)) {
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                int lineStart = 0;
+                for (int position = 0; position < read; position++) {
+                    if (chunk[position] != NEWLINE) {
+                        continue;
+                    }
+                    line.write(chunk, lineStart, position - lineStart);
+                    offset += indexRecord(line.toByteArray(), offset);
+                    line.reset();
+                    lineStart = position + 1;
+                }
+                line.write(chunk, lineStart, read - lineStart);
+            }
+        }
+
+        if (line.size() > 0) {
+            logger.warn("Truncating incomplete trailing job record at offset {} in {}", offset, logFile);
+            channel.truncate(offset);
+        }
+    }
+
+    private int indexRecord(byte[] json, long offset) {
+        int length = json.length + 1;
+        try {
+            VideoJobStatus status = jsonMapper.readValue(json, VideoJobStatus.class);
+            index(status, new LogPosition(offset, length, status.state()));
+        } catch (JacksonException e) {
+            logger.warn("Skipping unreadable job record at offset {} in {}", offset, logFile);
+        }
+        return length;
+    }
+
+    private void compactIfNeeded() {
+        if (compactionPending || closed) {
+            return;
+        }
+        try {
+            long size = channel.size();
+            if (size < minCompactionBytes || size - liveBytes < liveBytes) {
+                return;
+            }
+            CompactionSnapshot snapshot = new CompactionSnapshot(channel, size, new HashMap<>(index));
+            compactionPending = true;
+            compactionExecutor.execute(() -> compact(snapshot));
+        } catch (IOException | RejectedExecutionException e) {
+            compactionPending = false;
+            logger.warn("Could not start job log compaction for {}", logFile, e);
+        }
+    }
+
+    private void compact(CompactionSnapshot snapshot) {
+        Path compactionFile = logFile.resolveSibling(COMPACTION_FILE_NAME);
+        try {
+            compact(snapshot, compactionFile);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Job log compaction failed for {}", logFile, e);
+        } finally {
+            synchronized (this) {
+                compactionPending = false;
+            }
+            try {
+                Files.deleteIfExists(compactionFile);
+            } catch (IOException e) {
+                logger.warn("Could not delete {}", compactionFile, e);
+            }
+        }
+    }
+
+    private void compact(CompactionSnapshot snapshot, Path compactionFile) throws IOException {
+        long startNanos = System.nanoTime();
+        Instant expiredBefore = Instant.now().minus(retention);
+
+        Map<String, LogPosition> compactedIndex = new HashMap<>();
+        long compactedBytes = 0;
+        try (FileChannel target = FileChannel.open(
+                compactionFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, LogPosition> entry : snapshot.index().entrySet()) {
+                VideoJobStatus status = read(snapshot.channel(), entry.getValue());
+                if (!isUnfinished(status) && status.updatedAt().isBefore(expiredBefore)) {
+                    continue;
+                }
+                byte[] record = serialize(status);
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                compactedIndex.put(entry.getKey(), new LogPosition(compactedBytes, record.length, status.state()));
+                compactedBytes += record.length;
+            }
+
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                // Records appended since the snapshot are copied verbatim, so only their offsets shift.
+                long sizeBefore = channel.size();
+                long tailOffset = snapshot.size();
+                while (tailOffset < sizeBefore) {
+                    tailOffset += channel.transferTo(tailOffset, sizeBefore - tailOffset, target);
+                }
+                for (Map.Entry<String, LogPosition> entry : index.entrySet()) {
+                    LogPosition position = entry.getValue();
+                    if (position.offset() >= snapshot.size()) {
+                        compactedIndex.put(entry.getKey(), new LogPosition(
+                                compactedBytes + position.offset() - snapshot.size(),
+                                position.length(),
+                                position.state()));
+                    }
+                }
+                target.force(true);
+
+                channel.close();
+                try {
+                    Files.move(
+                            compactionFile,
+                            logFile,
+                            StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    channel = openLog();
+                }
+
+                index.clear();
+                index.putAll(compactedIndex);
+                unfinishedJobIds.retainAll(index.keySet());
+                stateCounts.clear();
+                liveBytes = 0;
+                for (LogPosition position : index.values()) {
+                    stateCounts.merge(position.state(), 1L, Long::sum);
+                    liveBytes += position.length();
+                }
+                logger.info(
+                        "Compacted job log {} from {} to {} bytes ({} jobs) in {} ms",
+                        logFile,
+                        sizeBefore,
+                        channel.size(),
+                        index.size(),
+                        Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+            }
+        }
+    }
+
+    private FileChannel openLog() throws IOException {
+        return FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private boolean isUnfinished(VideoJobStatus status) {
+        return status.state() == VideoJobState.QUEUED || status.state() == VideoJobState.PROCESSING;
+    }
+
+    private record LogPosition(long offset, int length, VideoJobState state) {
+    }
+
+    private record CompactionSnapshot(FileChannel channel, long size, Map<String, LogPosition> index) {
+    }
+}
@@ -0,0 +1,167 @@
+package github.sarthakdev143.media_factory.repository;
+
+import github.sarthakdev143.media_factory.model.VideoJobState;
+import github.sarthakdev143.media_factory.model.VideoJobStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded job status cache. Finished jobs expire {@code finishedTtl} after their last update, and once
+ * {@code maxEntries} is reached the oldest finished job is evicted. Queued and processing jobs are never evicted:
+ * if only live jobs remain, the cache grows past {@code maxEntries} and logs a warning until jobs finish.
+ */
+@Component
+@ConditionalOnProperty(name = "media-factory.jobs.store", havingValue = "memory")
+public class InMemoryVideoJobRepository implements VideoJobRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryVideoJobRepository.class);
+
+    private final Duration finishedTtl;
+    private final int maxEntries;
+    private final Map<String, VideoJobStatus> jobs = new HashMap<>();
+    private final LinkedHashSet<String> finishedOrder = new LinkedHashSet<>();
+    private final Map<VideoJobState, Integer> stateCounts = new EnumMap<>(VideoJobState.class);
+    private final Counter ttlEvictionCounter;
+    private final Counter capacityEvictionCounter;
+    private boolean overCapacity;
+
+    public InMemoryVideoJobRepository(
+            @Value("${media-factory.jobs.memory.finished-ttl:1h}") Duration finishedTtl,
+            @Value("${media-factory.jobs.memory.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("media-factory.jobs.memory.max-entries must be positive.");
+        }
+        this.finishedTtl = finishedTtl;
+        this.maxEntries = maxEntries;
+        this.ttlEvictionCounter = meterRegistry.counter("media_factory.jobs.cache.evictions", "reason", "ttl");
+        this.capacityEvictionCounter = meterRegistry.counter("media_factory.jobs.cache.evictions", "reason", "capacity");
+        meterRegistry.gauge("media_factory.jobs.cache.size", this, InMemoryVideoJobRepository::size);
+    }
+
+    @Override
+    public synchronized void save(VideoJobStatus status) {
+        evictExpired(Instant.now());
+        put(status);
+        evictOverCapacity();
+    }
+
+    @Override
+    public synchronized Optional<VideoJobStatus> findById(String jobId) {
+        Instant now = Instant.now();
+        evictExpired(now);
+        VideoJobStatus status = jobs.get(jobId);
+        if (status != null && isExpired(status, now)) {
+            remove(jobId);
+            ttlEvictionCounter.increment();
+            return Optional.empty();
+        }
+        return Optional.ofNullable(status);
+    }
+
+    @Override
+    public synchronized Optional<VideoJobStatus> update(String jobId, UnaryOperator<VideoJobStatus> updater) {
+        evictExpired(Instant.now());
+        VideoJobStatus current = jobs.get(jobId);
+        if (current == null) {
+            return Optional.empty();
+        }
+        VideoJobStatus updated = updater.apply(current);
+        put(updated);
+        return Optional.of(updated);
+    }
+
+    @Override
+    public synchronized List<VideoJobStatus> findUnfinished() {
+        return jobs.values()
+                .stream()
+                .filter(status -> !isFinished(status.state()))
+                .toList();
+    }
+
+    @Override
+    public synchronized long countByState(VideoJobState state) {
+        return stateCounts.getOrDefault(state, 0);
+    }
+
+    synchronized int size() {
+        return jobs.size();
+    }
+
+    private void put(VideoJobStatus status) {
+        VideoJobStatus previous = jobs.put(status.jobId(), status);
+        if (previous != null) {
+            stateCounts.merge(previous.state(), -1, Integer::sum);
+        }
+        stateCounts.merge(status.state(), 1, Integer::sum);
+
+        // Re-adding moves a job to the back, so finishedOrder stays sorted by finish time.
+        finishedOrder.remove(status.jobId());
+        if (isFinished(status.state())) {
+            finishedOrder.add(status.jobId());
+        }
+    }
+
+    private void remove(String jobId) {
+        VideoJobStatus removed = jobs.remove(jobId);
+        if (removed != null) {
+            stateCounts.merge(removed.state(), -1, Integer::sum);
+        }
+        finishedOrder.remove(jobId);
+    }
+
+    private void evictExpired(Instant now) {
+        Iterator<String> finished = finishedOrder.iterator();
+        while (finished.hasNext()) {
+            String jobId = finished.next();
+            if (!isExpired(jobs.get(jobId), now)) {
+                return;
+            }
+            finished.remove();
+            remove(jobId);
+            ttlEvictionCounter.increment();
+        }
+    }
+
+    private void evictOverCapacity() {
+        Iterator<String> finished = finishedOrder.iterator();
+        while (jobs.size() > maxEntries && finished.hasNext()) {
+            String jobId = finished.next();
+            finished.remove();
+            remove(jobId);
+            capacityEvictionCounter.increment();
+        }
+        if (jobs.size() > maxEntries && !overCapacity) {
+            logger.warn(
+                    "Job cache holds {} unfinished jobs, more than media-factory.jobs.memory.max-entries={}; "
+                            + "keeping them until they finish.",
+                    jobs.size(),
+                    maxEntries);
+        }
+        overCapacity = jobs.size() > maxEntries;
+    }
+
+    private boolean isExpired(VideoJobStatus status, Instant now) {
+        return isFinished(status.state()) && status.updatedAt().plus(finishedTtl).isBefore(now);
+    }
+
+    private boolean isFinished(VideoJobState state) {
+        return state == VideoJobState.COMPLETED || state == VideoJobState.FAILED;
+    }
+}
@@ -0,0 +1,27 @@
+package github.sarthakdev143.media_factory.repository;
+
+import github.sarthakdev143.media_factory.model.VideoJobState;
+import github.sarthakdev143.media_factory.model.VideoJobStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+public interface VideoJobRepository {
+
+    void save(VideoJobStatus status);
+
+    Optional<VideoJobStatus> findById(String jobId);
+
+    /**
+     * Atomically replaces the stored status with the updater's result; does nothing for unknown jobs.
+     */
+    Optional<VideoJobStatus> update(String jobId, UnaryOperator<VideoJobStatus> updater);
+
+    /**
+     * @return jobs still QUEUED or PROCESSING
+     */
+    List<VideoJobStatus> findUnfinished();
+
+    long countByState(VideoJobState state);
+}
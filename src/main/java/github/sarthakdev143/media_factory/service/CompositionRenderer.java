@@ -7,5 +7,12 @@ import java.nio.file.Path;
 
 public interface CompositionRenderer {
 
-    void renderComposition(CompositionRenderPlan plan, Path outputVideoPath) throws IOException, InterruptedException;
+    default void renderComposition(CompositionRenderPlan plan, Path outputVideoPath) throws IOException, InterruptedException {
+        renderComposition(plan, outputVideoPath, RenderProgressListener.NONE);
+    }
+
+    void renderComposition(
+            CompositionRenderPlan plan,
+            Path outputVideoPath,
+            RenderProgressListener progressListener) throws IOException, InterruptedException;
 }
@@ -0,0 +1,10 @@
+package github.sarthakdev143.media_factory.service;
+
+@FunctionalInterface
+public interface RenderProgressListener {
+
+    RenderProgressListener NONE = (stage, processedSeconds, totalSeconds, speed) -> {
+    };
+
+    void onProgress(String stage, double processedSeconds, double totalSeconds, double speed);
+}
@@ -0,0 +1,10 @@
+package github.sarthakdev143.media_factory.service;
+
+@FunctionalInterface
+public interface UploadProgressListener {
+
+    UploadProgressListener NONE = (bytesSent, totalBytes) -> {
+    };
+
+    void onProgress(long bytesSent, long totalBytes);
+}
@@ -0,0 +1,95 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-request home for uploaded parts on disk. Each part is written at most once: validation probes the same file
+ * that the job is later handed. Files a job has not claimed by the end of the request (for example because the
+ * manifest was rejected) are deleted with the workspace.
+ */
+@Component
+@RequestScope
+public class AssetWorkspace {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetWorkspace.class);
+
+    private final MultipartIngestor ingestor;
+    private final Map<MultipartFile, Entry> entries = new IdentityHashMap<>();
+
+    public AssetWorkspace(MultipartIngestor ingestor) {
+        this.ingestor = ingestor;
+    }
+
+    /**
+     * Returns the part's workspace file, writing it on first use. Different parts can be written concurrently.
+     */
+    public MultipartIngestor.IngestedFile materialize(MultipartFile part, String prefix, String suffix)
+            throws IOException {
+        return entryFor(part).materialize(part, prefix, suffix);
+    }
+
+    /**
+     * Like {@link #materialize}, but the caller takes ownership of the file and is responsible for deleting it.
+     */
+    public MultipartIngestor.IngestedFile claim(MultipartFile part, String prefix, String suffix)
+            throws IOException {
+        Entry entry = entryFor(part);
+        synchronized (entry) {
+            MultipartIngestor.IngestedFile file = entry.materialize(part, prefix, suffix);
+            entry.claimed = true;
+            return file;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        List<Entry> toClose;
+        synchronized (entries) {
+            toClose = new ArrayList<>(entries.values());
+            entries.clear();
+        }
+        for (Entry entry : toClose) {
+            synchronized (entry) {
+                if (entry.file != null && !entry.claimed) {
+                    try {
+                        Files.deleteIfExists(entry.file.path());
+                    } catch (IOException e) {
+                        logger.warn("Failed to delete unclaimed asset file {}", entry.file.path(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private Entry entryFor(MultipartFile part) {
+        synchronized (entries) {
+            return entries.computeIfAbsent(part, ignored -> new Entry());
+        }
+    }
+
+    private final class Entry {
+
+        private MultipartIngestor.IngestedFile file;
+        private boolean claimed;
+
+        private synchronized MultipartIngestor.IngestedFile materialize(MultipartFile part, String prefix, String suffix)
+                throws IOException {
+            if (file == null) {
+                file = ingestor.ingest(part, prefix, suffix);
+            }
+            return file;
+        }
+    }
+}
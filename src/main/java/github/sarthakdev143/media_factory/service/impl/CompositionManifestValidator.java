@@ -12,27 +12,41 @@ import github.sarthakdev143.media_factory.model.MotionType;
 import github.sarthakdev143.media_factory.model.SceneType;
 import github.sarthakdev143.media_factory.model.TransitionType;
 import github.sarthakdev143.media_factory.model.VisualFilterType;
+import github.sarthakdev143.media_factory.integration.video.FfmpegOutputTail;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Component
 public class CompositionManifestValidator {
 
+    private static final Logger logger = LoggerFactory.getLogger(CompositionManifestValidator.class);
+
     private static final int MAX_SCENES = 50;
     private static final double MIN_IMAGE_DURATION_SECONDS = 0.5;
     private static final double MAX_IMAGE_DURATION_SECONDS = 600.0;
@@ -53,10 +67,52 @@ public class CompositionManifestValidator {
     private static final double DEFAULT_OVERLAY_OPACITY = 0.25;
     private static final double EPSILON = 1e-9;
     private static final Pattern DURATION_PATTERN = Pattern.compile("Duration: (\\d+):(\\d+):(\\d+(?:\\.\\d+)?)");
+    private static final Pattern VIDEO_STREAM_PATTERN = Pattern.compile("Stream #\\d+:\\d+.*?: Video: ([A-Za-z0-9_]+)(.*)");
+    private static final Pattern RESOLUTION_PATTERN = Pattern.compile("[ ,](\\d{2,5})x(\\d{2,5})[ ,\\]]");
+    private static final Pattern FRAME_RATE_PATTERN = Pattern.compile(", (\\d+(?:\\.\\d+)?) fps");
+    private static final int PROBE_OUTPUT_TAIL_MAX_LINES = 20;
+    private static final int PROBE_OUTPUT_TAIL_MAX_CHARS = 4 * 1024;
     private static final Pattern HEX_COLOR_PATTERN = Pattern.compile("^#[0-9a-fA-F]{6}$");
     private static final String FFMPEG_PATH_ENV = "FFMPEG_PATH";
     private static final String DEFAULT_FFMPEG_BINARY = "ffmpeg";
 
+    private final AssetWorkspace assetWorkspace;
+    private final VideoProbeCache probeCache;
+    private final ExecutorService probeExecutor;
+    private final DurationProbe durationProbe;
+
+    @Autowired
+    public CompositionManifestValidator(
+            AssetWorkspace assetWorkspace,
+            VideoProbeCache probeCache,
+            @Value("${media-factory.validation.probe-parallelism:4}") int probeParallelism) {
+        this(assetWorkspace, probeCache, probeParallelism, null);
+    }
+
+    CompositionManifestValidator(
+            AssetWorkspace assetWorkspace,
+            VideoProbeCache probeCache,
+            int probeParallelism,
+            DurationProbe durationProbe) {
+        if (probeParallelism <= 0) {
+            throw new IllegalArgumentException("media-factory.validation.probe-parallelism must be positive.");
+        }
+        this.assetWorkspace = assetWorkspace;
+        this.probeCache = probeCache;
+        this.durationProbe = durationProbe != null ? durationProbe : this::probeVideoDurationSeconds;
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.probeExecutor = Executors.newFixedThreadPool(probeParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "asset-probe-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
     public CompositionManifestRequest normalizeAndValidate(
             CompositionManifestRequest manifest,
             Map<String, MultipartFile> assetsById) {
@@ -79,6 +135,21 @@ public class CompositionManifestValidator {
                 ? Map.of()
                 : new LinkedHashMap<>(assetsById);
 
+        Map<Integer, Future<Double>> probes = startProbes(scenes, safeAssets);
+        try {
+            return normalizeScenes(manifest, scenes, safeAssets, probes);
+        } finally {
+            for (Future<Double> probe : probes.values()) {
+                probe.cancel(true);
+            }
+        }
+    }
+
+    private CompositionManifestRequest normalizeScenes(
+            CompositionManifestRequest manifest,
+            List<CompositionSceneRequest> scenes,
+            Map<String, MultipartFile> safeAssets,
+            Map<Integer, Future<Double>> probes) {
         List<CompositionSceneRequest> normalizedScenes = new ArrayList<>();
         double totalDurationSeconds = 0.0;
         double previousSceneDuration = 0.0;
@@ -99,7 +170,13 @@ public class CompositionManifestValidator {
                     0.0,
                     "manifest.scenes[" + index + "].clipStartSec");
 
-            double sceneDurationSeconds = resolveSceneDurationSeconds(index, scene, sceneType, asset, clipStartSeconds);
+            double sceneDurationSeconds = resolveSceneDurationSeconds(
+                    index,
+                    scene,
+                    sceneType,
+                    asset,
+                    clipStartSeconds,
+                    probes.get(index));
             CompositionCaptionRequest caption = normalizeCaption(index, scene.caption(), sceneDurationSeconds);
             CompositionTransitionRequest transition = normalizeTransition(
                     index,
@@ -174,7 +251,8 @@ public class CompositionManifestValidator {
             CompositionSceneRequest scene,
             SceneType sceneType,
             MultipartFile asset,
-            double clipStartSeconds) {
+            double clipStartSeconds,
+            Future<Double> probe) {
         if (sceneType == SceneType.IMAGE) {
             validateContentType(index, sceneType, asset.getContentType(), "image/");
             if (scene.clipDurationSec() != null) {
@@ -213,7 +291,9 @@ public class CompositionManifestValidator {
             return clipDuration;
         }
 
-        double sourceDuration = probeVideoDurationSeconds(asset, index);
+        double sourceDuration = probe != null
+                ? awaitProbe(probe, index)
+                : durationProbe.probeSeconds(asset, index);
         double remainingDuration = sourceDuration - clipStartSeconds;
         if (remainingDuration <= EPSILON) {
             throw new IllegalArgumentException(
@@ -427,22 +507,101 @@ public class CompositionManifestValidator {
         return normalized;
     }
 
+    /**
+     * Starts a duration probe for every VIDEO scene that will need one, so the request waits for the slowest probe
+     * rather than for all of them in turn. Results are read back by scene index while scenes are validated in order,
+     * so the first invalid scene still produces the same error as before.
+     */
+    private Map<Integer, Future<Double>> startProbes(
+            List<CompositionSceneRequest> scenes,
+            Map<String, MultipartFile> assetsById) {
+        Map<Integer, Future<Double>> probes = new LinkedHashMap<>();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        Map<String, String> loggingContext = MDC.getCopyOfContextMap();
+
+        for (int index = 0; index < scenes.size(); index++) {
+            CompositionSceneRequest scene = scenes.get(index);
+            if (!needsProbe(scene)) {
+                continue;
+            }
+            MultipartFile asset = scene.assetId() == null ? null : assetsById.get(scene.assetId().trim());
+            String contentType = asset == null || asset.isEmpty() ? null : asset.getContentType();
+            if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("video/")) {
+                continue;
+            }
+
+            int sceneIndex = index;
+            probes.put(index, probeExecutor.submit(() -> {
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                if (loggingContext != null) {
+                    MDC.setContextMap(loggingContext);
+                }
+                try {
+                    return durationProbe.probeSeconds(asset, sceneIndex);
+                } finally {
+                    MDC.clear();
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }));
+        }
+        return probes;
+    }
+
+    private boolean needsProbe(CompositionSceneRequest scene) {
+        return scene != null
+                && scene.type() == SceneType.VIDEO
+                && scene.durationSec() == null
+                && scene.clipDurationSec() == null;
+    }
+
+    private double awaitProbe(Future<Double> probe, int sceneIndex) {
+        try {
+            return probe.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalArgumentException(
+                    "Unable to probe duration for a video asset in manifest.scenes[" + sceneIndex + "].",
+                    e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalArgumentException(
+                    "Unable to probe duration for a video asset in manifest.scenes[" + sceneIndex + "].",
+                    e);
+        }
+    }
+
     private double probeVideoDurationSeconds(MultipartFile asset, int sceneIndex) {
-        Path tempFile = null;
         try {
-            tempFile = Files.createTempFile("media-factory-probe-", resolveProbeSuffix(asset));
-            asset.transferTo(tempFile);
+            // Probe the workspace copy the job will be handed, so the asset is written to disk only once.
+            MultipartIngestor.IngestedFile assetFile = assetWorkspace.materialize(
+                    asset,
+                    DefaultVideoProcessingService.COMPOSITION_ASSET_PREFIX,
+                    resolveProbeSuffix(asset));
+            VideoProbeCache.ProbeResult cached = probeCache.get(assetFile.sha256());
+            if (cached != null) {
+                return cached.durationSeconds();
+            }
 
-            List<String> command = List.of(resolveFfmpegBinary(), "-i", tempFile.toString());
+            VideoProbeCache.ProbeResult header = ContainerHeaderReader.read(assetFile.path());
+            if (header != null) {
+                probeCache.put(assetFile.sha256(), header);
+                return header.durationSeconds();
+            }
+
+            List<String> command = List.of(resolveFfmpegBinary(), "-i", assetFile.path().toString());
             Process process = new ProcessBuilder(command)
                     .redirectErrorStream(true)
                     .start();
 
-            StringBuilder output = new StringBuilder();
+            ProbeOutputParser parser = new ProbeOutputParser();
+            FfmpegOutputTail outputTail = new FfmpegOutputTail(PROBE_OUTPUT_TAIL_MAX_LINES, PROBE_OUTPUT_TAIL_MAX_CHARS);
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
                 String line;
                 while ((line = reader.readLine()) != null) {
-                    output.append(line).append(System.lineSeparator());
+                    parser.accept(line);
+                    outputTail.append(line);
                 }
             }
 
@@ -452,17 +611,15 @@ public class CompositionManifestValidator {
                 throw new IllegalArgumentException(
                         "Timed out while probing duration for a video asset in manifest.scenes[" + sceneIndex + "].");
             }
-            Matcher matcher = DURATION_PATTERN.matcher(output.toString());
-            if (!matcher.find()) {
+            VideoProbeCache.ProbeResult result = parser.result();
+            if (result == null) {
+                logger.warn("ffmpeg reported no duration for manifest.scenes[{}]; output tail:{}{}",
+                        sceneIndex, System.lineSeparator(), outputTail);
                 throw new IllegalArgumentException(
                         "Unable to determine duration for video asset in manifest.scenes[" + sceneIndex + "].");
             }
-
-            long hours = Long.parseLong(matcher.group(1));
-            long minutes = Long.parseLong(matcher.group(2));
-            double seconds = Double.parseDouble(matcher.group(3));
-            Duration base = Duration.ofHours(hours).plusMinutes(minutes);
-            return base.toSeconds() + seconds;
+            probeCache.put(assetFile.sha256(), result);
+            return result.durationSeconds();
         } catch (IOException | InterruptedException e) {
             if (e instanceof InterruptedException interruptedException) {
                 Thread.currentThread().interrupt();
@@ -470,14 +627,6 @@ public class CompositionManifestValidator {
             throw new IllegalArgumentException(
                     "Unable to probe duration for a video asset in manifest.scenes[" + sceneIndex + "].",
                     e);
-        } finally {
-            if (tempFile != null) {
-                try {
-                    Files.deleteIfExists(tempFile);
-                } catch (IOException ignored) {
-                    // Cleanup failures are non-fatal.
-                }
-            }
         }
     }
 
@@ -506,6 +655,58 @@ public class CompositionManifestValidator {
         return ".mp4";
     }
 
+    /**
+     * Picks the duration and the first video stream's codec, resolution and frame rate out of {@code ffmpeg -i}
+     * output as it streams, one line at a time.
+     */
+    static final class ProbeOutputParser {
+
+        private Double durationSeconds;
+        private Integer width;
+        private Integer height;
+        private Double frameRate;
+        private String codec;
+
+        void accept(String line) {
+            if (durationSeconds == null) {
+                Matcher duration = DURATION_PATTERN.matcher(line);
+                if (duration.find()) {
+                    durationSeconds = Long.parseLong(duration.group(1)) * 3600.0
+                            + Long.parseLong(duration.group(2)) * 60.0
+                            + Double.parseDouble(duration.group(3));
+                    return;
+                }
+            }
+            if (codec == null) {
+                Matcher stream = VIDEO_STREAM_PATTERN.matcher(line);
+                if (stream.find()) {
+                    codec = stream.group(1);
+                    Matcher resolution = RESOLUTION_PATTERN.matcher(stream.group(2));
+                    if (resolution.find()) {
+                        width = Integer.valueOf(resolution.group(1));
+                        height = Integer.valueOf(resolution.group(2));
+                    }
+                    Matcher rate = FRAME_RATE_PATTERN.matcher(stream.group(2));
+                    if (rate.find()) {
+                        frameRate = Double.valueOf(rate.group(1));
+                    }
+                }
+            }
+        }
+
+        VideoProbeCache.ProbeResult result() {
+            return durationSeconds == null
+                    ? null
+                    : new VideoProbeCache.ProbeResult(durationSeconds, width, height, frameRate, codec);
+        }
+    }
+
+    @FunctionalInterface
+    interface DurationProbe {
+
+        double probeSeconds(MultipartFile asset, int sceneIndex);
+    }
+
     private String resolveFfmpegBinary() {
         String configuredPath = System.getenv(FFMPEG_PATH_ENV);
         if (configuredPath != null && !configuredPath.isBlank()) {
@@ -0,0 +1,382 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reads duration and first video stream details straight from MP4/MOV ({@code moov}) and Matroska/WebM
+ * (Segment Info and Tracks) headers. Only the header boxes are read; media data is skipped by seeking. Returns
+ * {@code null} for anything it cannot parse, so the caller can fall back to ffmpeg.
+ */
+final class ContainerHeaderReader {
+
+    private static final int MAX_HEADER_BYTES = 64 * 1024 * 1024;
+
+    private static final int EBML_MAGIC = 0x1A45DFA3;
+    private static final int SEGMENT = 0x18538067;
+    private static final int SEGMENT_INFO = 0x1549A966;
+    private static final int TRACKS = 0x1654AE6B;
+    private static final int CLUSTER = 0x1F43B675;
+    private static final int TIMECODE_SCALE = 0x2AD7B1;
+    private static final int DURATION = 0x4489;
+    private static final int TRACK_ENTRY = 0xAE;
+    private static final int TRACK_TYPE = 0x83;
+    private static final int CODEC_ID = 0x86;
+    private static final int DEFAULT_DURATION = 0x23E383;
+    private static final int VIDEO = 0xE0;
+    private static final int PIXEL_WIDTH = 0xB0;
+    private static final int PIXEL_HEIGHT = 0xBA;
+    private static final long DEFAULT_TIMECODE_SCALE_NANOS = 1_000_000L;
+
+    private static final Set<String> TOP_LEVEL_BOXES = Set.of("ftyp", "moov", "mdat", "free", "skip", "wide", "pnot");
+
+    private ContainerHeaderReader() {
+    }
+
+    static VideoProbeCache.ProbeResult read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = read(channel, 0, 8);
+            if (magic.limit() >= 4 && magic.getInt(0) == EBML_MAGIC) {
+                return readMatroska(channel);
+            }
+            if (magic.limit() == 8 && TOP_LEVEL_BOXES.contains(fourCc(magic.getInt(4)))) {
+                return readIsoMedia(channel);
+            }
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static VideoProbeCache.ProbeResult readIsoMedia(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        long position = 0;
+        while (position + 8 <= fileSize) {
+            ByteBuffer header = read(channel, position, 16);
+            long size = header.getInt(0) & 0xFFFFFFFFL;
+            int headerSize = 8;
+            if (size == 1) {
+                if (header.limit() < 16) {
+                    return null;
+                }
+                size = header.getLong(8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = fileSize - position;
+            }
+            if (size < headerSize || size > fileSize - position) {
+                return null;
+            }
+            if ("moov".equals(fourCc(header.getInt(4)))) {
+                if (size - headerSize > MAX_HEADER_BYTES) {
+                    return null;
+                }
+                return parseMoov(read(channel, position + headerSize, (int) (size - headerSize)));
+            }
+            position += size;
+        }
+        return null;
+    }
+
+    private static VideoProbeCache.ProbeResult parseMoov(ByteBuffer moov) {
+        ByteBuffer mvhd = firstBox(moov, "mvhd");
+        // In a fragmented file mvhd only covers the samples in moov; the rest live in moof boxes.
+        if (mvhd == null || firstBox(moov, "mvex") != null) {
+            return null;
+        }
+        boolean version1 = mvhd.get(0) == 1;
+        long timescale = version1 ? unsignedInt(mvhd, 20) : unsignedInt(mvhd, 12);
+        long duration = version1 ? mvhd.getLong(24) : unsignedInt(mvhd, 16);
+        if (timescale == 0 || duration <= 0 || (!version1 && duration == 0xFFFFFFFFL)) {
+            return null;
+        }
+        double durationSeconds = (double) duration / timescale;
+
+        for (ByteBuffer trak : boxes(moov, "trak")) {
+            ByteBuffer mdia = firstBox(trak, "mdia");
+            ByteBuffer hdlr = mdia == null ? null : firstBox(mdia, "hdlr");
+            if (hdlr == null || !"vide".equals(fourCc(hdlr.getInt(8)))) {
+                continue;
+            }
+
+            Integer width = null;
+            Integer height = null;
+            ByteBuffer tkhd = firstBox(trak, "tkhd");
+            if (tkhd != null) {
+                int dimensionsOffset = tkhd.get(0) == 1 ? 88 : 76;
+                width = (int) (unsignedInt(tkhd, dimensionsOffset) >>> 16);
+                height = (int) (unsignedInt(tkhd, dimensionsOffset + 4) >>> 16);
+            }
+
+            ByteBuffer minf = firstBox(mdia, "minf");
+            ByteBuffer stbl = minf == null ? null : firstBox(minf, "stbl");
+            ByteBuffer stsd = stbl == null ? null : firstBox(stbl, "stsd");
+            String codec = stsd == null || stsd.limit() < 16 ? null : isoCodecName(fourCc(stsd.getInt(12)));
+
+            return new VideoProbeCache.ProbeResult(
+                    durationSeconds,
+                    width,
+                    height,
+                    isoFrameRate(firstBox(mdia, "mdhd"), stbl == null ? null : firstBox(stbl, "stts")),
+                    codec);
+        }
+        return new VideoProbeCache.ProbeResult(durationSeconds, null, null, null, null);
+    }
+
+    private static Double isoFrameRate(ByteBuffer mdhd, ByteBuffer stts) {
+        if (mdhd == null || stts == null) {
+            return null;
+        }
+        long timescale = mdhd.get(0) == 1 ? unsignedInt(mdhd, 20) : unsignedInt(mdhd, 12);
+        long entryCount = unsignedInt(stts, 4);
+        long frames = 0;
+        long ticks = 0;
+        for (int entry = 0; entry < entryCount && 16 + entry * 8 <= stts.limit(); entry++) {
+            long count = unsignedInt(stts, 8 + entry * 8);
+            frames += count;
+            ticks += count * unsignedInt(stts, 12 + entry * 8);
+        }
+        return timescale == 0 || ticks == 0 ? null : roundFrameRate((double) frames * timescale / ticks);
+    }
+
+    private static String isoCodecName(String sampleEntry) {
+        return switch (sampleEntry) {
+            case "avc1", "avc3" -> "h264";
+            case "hvc1", "hev1" -> "hevc";
+            case "av01" -> "av1";
+            case "vp08" -> "vp8";
+            case "vp09" -> "vp9";
+            case "mp4v" -> "mpeg4";
+            case "apch", "apcn", "apcs", "apco", "ap4h" -> "prores";
+            default -> sampleEntry.trim();
+        };
+    }
+
+    private static VideoProbeCache.ProbeResult readMatroska(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        ElementHeader ebml = elementHeader(read(channel, 0, 12), 0);
+        if (ebml == null || ebml.size() < 0) {
+            return null;
+        }
+        long position = ebml.headerLength() + ebml.size();
+        ElementHeader segment = elementHeader(read(channel, position, 12), 0);
+        if (segment == null || segment.id() != SEGMENT) {
+            return null;
+        }
+        position += segment.headerLength();
+        long segmentEnd = segment.size() < 0 ? fileSize : Math.min(fileSize, position + segment.size());
+
+        ByteBuffer info = null;
+        ByteBuffer tracks = null;
+        while (position < segmentEnd && (info == null || tracks == null)) {
+            ElementHeader child = elementHeader(read(channel, position, 12), 0);
+            if (child == null || child.size() < 0 || (child.id() == CLUSTER && info != null)) {
+                break;
+            }
+            long dataStart = position + child.headerLength();
+            if (child.id() == SEGMENT_INFO || child.id() == TRACKS) {
+                if (child.size() > MAX_HEADER_BYTES) {
+                    return null;
+                }
+                ByteBuffer payload = read(channel, dataStart, (int) child.size());
+                if (child.id() == SEGMENT_INFO) {
+                    info = payload;
+                } else {
+                    tracks = payload;
+                }
+            }
+            position = dataStart + child.size();
+        }
+        if (info == null) {
+            return null;
+        }
+
+        long timecodeScale = DEFAULT_TIMECODE_SCALE_NANOS;
+        Double duration = null;
+        for (Element element : elements(info)) {
+            if (element.id() == TIMECODE_SCALE) {
+                timecodeScale = unsignedValue(element.data());
+            } else if (element.id() == DURATION) {
+                duration = floatValue(element.data());
+            }
+        }
+        if (duration == null || duration <= 0 || timecodeScale <= 0) {
+            return null;
+        }
+        double durationSeconds = duration * timecodeScale / 1_000_000_000.0;
+
+        for (Element trackEntry : tracks == null ? List.<Element>of() : elements(tracks)) {
+            if (trackEntry.id() != TRACK_ENTRY) {
+                continue;
+            }
+            List<Element> fields = elements(trackEntry.data());
+            if (fields.stream().noneMatch(field -> field.id() == TRACK_TYPE && unsignedValue(field.data()) == 1)) {
+                continue;
+            }
+            Integer width = null;
+            Integer height = null;
+            Double frameRate = null;
+            String codec = null;
+            for (Element field : fields) {
+                if (field.id() == CODEC_ID) {
+                    codec = matroskaCodecName(StandardCharsets.US_ASCII.decode(field.data()).toString().trim());
+                } else if (field.id() == DEFAULT_DURATION && unsignedValue(field.data()) > 0) {
+                    frameRate = roundFrameRate(1_000_000_000.0 / unsignedValue(field.data()));
+                } else if (field.id() == VIDEO) {
+                    for (Element videoField : elements(field.data())) {
+                        if (videoField.id() == PIXEL_WIDTH) {
+                            width = (int) unsignedValue(videoField.data());
+                        } else if (videoField.id() == PIXEL_HEIGHT) {
+                            height = (int) unsignedValue(videoField.data());
+                        }
+                    }
+                }
+            }
+            return new VideoProbeCache.ProbeResult(durationSeconds, width, height, frameRate, codec);
+        }
+        return new VideoProbeCache.ProbeResult(durationSeconds, null, null, null, null);
+    }
+
+    private static String matroskaCodecName(String codecId) {
+        return switch (codecId) {
+            case "V_MPEG4/ISO/AVC" -> "h264";
+            case "V_MPEGH/ISO/HEVC" -> "hevc";
+            case "V_MPEG4/ISO/SP", "V_MPEG4/ISO/ASP" -> "mpeg4";
+            default -> codecId.startsWith("V_") ? codecId.substring(2).toLowerCase(Locale.ROOT) : codecId;
+        };
+    }
+
+    private static List<ByteBuffer> boxes(ByteBuffer container, String type) {
+        List<ByteBuffer> found = new ArrayList<>();
+        int position = 0;
+        while (position + 8 <= container.limit()) {
+            long size = unsignedInt(container, position);
+            int headerSize = 8;
+            if (size == 1 && position + 16 <= container.limit()) {
+                size = container.getLong(position + 8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = container.limit() - position;
+            }
+            if (size < headerSize || size > container.limit() - position) {
+                break;
+            }
+            if (type.equals(fourCc(container.getInt(position + 4)))) {
+                found.add(container.slice(position + headerSize, (int) size - headerSize));
+            }
+            position += (int) size;
+        }
+        return found;
+    }
+
+    private static ByteBuffer firstBox(ByteBuffer container, String type) {
+        List<ByteBuffer> found = boxes(container, type);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private static List<Element> elements(ByteBuffer parent) {
+        List<Element> found = new ArrayList<>();
+        int position = 0;
+        while (position < parent.limit()) {
+            ElementHeader header = elementHeader(parent, position);
+            if (header == null || header.size() < 0) {
+                break;
+            }
+            int dataStart = position + header.headerLength();
+            if (header.size() > parent.limit() - dataStart) {
+                break;
+            }
+            found.add(new Element(header.id(), parent.slice(dataStart, (int) header.size())));
+            position = dataStart + (int) header.size();
+        }
+        return found;
+    }
+
+    /**
+     * Parses an EBML element ID and data size at {@code offset}. The size is {@code -1} when the element declares
+     * an unknown size.
+     */
+    private static ElementHeader elementHeader(ByteBuffer buffer, int offset) {
+        if (offset >= buffer.limit()) {
+            return null;
+        }
+        int idLength = vintLength(buffer.get(offset));
+        if (idLength == 0 || idLength > 4 || offset + idLength >= buffer.limit()) {
+            return null;
+        }
+        int id = 0;
+        for (int index = 0; index < idLength; index++) {
+            id = (id << 8) | (buffer.get(offset + index) & 0xFF);
+        }
+
+        int sizeLength = vintLength(buffer.get(offset + idLength));
+        if (sizeLength == 0 || offset + idLength + sizeLength > buffer.limit()) {
+            return null;
+        }
+        long size = buffer.get(offset + idLength) & (0xFF >>> sizeLength);
+        boolean unknown = size == (0xFF >>> sizeLength);
+        for (int index = 1; index < sizeLength; index++) {
+            int next = buffer.get(offset + idLength + index) & 0xFF;
+            unknown &= next == 0xFF;
+            size = (size << 8) | next;
+        }
+        return new ElementHeader(id, unknown ? -1 : size, idLength + sizeLength);
+    }
+
+    private static int vintLength(byte first) {
+        int value = first & 0xFF;
+        return value == 0 ? 0 : Integer.numberOfLeadingZeros(value) - 23;
+    }
+
+    private static long unsignedValue(ByteBuffer data) {
+        long value = 0;
+        for (int index = 0; index < Math.min(data.limit(), 8); index++) {
+            value = (value << 8) | (data.get(index) & 0xFF);
+        }
+        return value;
+    }
+
+    private static Double floatValue(ByteBuffer data) {
+        return switch (data.limit()) {
+            case 4 -> (double) data.getFloat(0);
+            case 8 -> data.getDouble(0);
+            default -> null;
+        };
+    }
+
+    private static long unsignedInt(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset) & 0xFFFFFFFFL;
+    }
+
+    private static String fourCc(int type) {
+        return new String(ByteBuffer.allocate(4).putInt(type).array(), StandardCharsets.ISO_8859_1);
+    }
+
+    private static double roundFrameRate(double frameRate) {
+        return Math.round(frameRate * 100.0) / 100.0;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    private record ElementHeader(int id, long size, int headerLength) {
+    }
+
+    private record Element(int id, ByteBuffer data) {
+    }
+}
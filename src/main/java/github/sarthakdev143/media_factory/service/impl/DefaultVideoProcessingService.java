@@ -9,12 +9,14 @@ import github.sarthakdev143.media_factory.dto.CompositionTransitionRequest;
 import github.sarthakdev143.media_factory.dto.CompositionVisualEditRequest;
 import github.sarthakdev143.media_factory.factory.VideoGeneratorUploaderFactory;
 import github.sarthakdev143.media_factory.integration.video.VideoGeneratorUploader;
+import github.sarthakdev143.media_factory.integration.youtube.YouTubeCategoryCatalog;
 import github.sarthakdev143.media_factory.integration.youtube.YouTubeServiceProvider;
 import github.sarthakdev143.media_factory.model.MotionType;
 import github.sarthakdev143.media_factory.model.PrivacyStatus;
 import github.sarthakdev143.media_factory.model.PublishOptions;
 import github.sarthakdev143.media_factory.model.TransitionType;
 import github.sarthakdev143.media_factory.model.UploadResult;
+import github.sarthakdev143.media_factory.model.VideoJobProgress;
 import github.sarthakdev143.media_factory.model.VideoJobState;
 import github.sarthakdev143.media_factory.model.VideoJobStatus;
 import github.sarthakdev143.media_factory.model.VisualFilterType;
@@ -25,13 +27,19 @@ import github.sarthakdev143.media_factory.model.composition.CompositionRenderPla
 import github.sarthakdev143.media_factory.model.composition.CompositionScenePlan;
 import github.sarthakdev143.media_factory.model.composition.CompositionTransitionPlan;
 import github.sarthakdev143.media_factory.model.composition.CompositionVisualEditPlan;
+import github.sarthakdev143.media_factory.repository.VideoJobRepository;
 import github.sarthakdev143.media_factory.service.CompositionRenderer;
+import github.sarthakdev143.media_factory.service.RenderProgressListener;
+import github.sarthakdev143.media_factory.service.UploadProgressListener;
 import github.sarthakdev143.media_factory.service.VideoProcessingService;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.task.TaskExecutor;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -46,34 +54,52 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class DefaultVideoProcessingService implements VideoProcessingService {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultVideoProcessingService.class);
+    private static final String JOB_ID_MDC_KEY = "jobId";
+    private static final long PROGRESS_UPDATE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String SOURCE_PRESET_TAG = "source";
+    private static final long MEGABYTE = 1024L * 1024L;
+    static final String COMPOSITION_ASSET_PREFIX = "media-factory-composition-asset-";
+    private static final String INVALID_CATEGORY_WARNING = "Invalid categoryId was ignored. Video uploaded without category.";
 
     private final YouTubeServiceProvider youTubeServiceProvider;
+    private final YouTubeCategoryCatalog categoryCatalog;
     private final VideoGeneratorUploaderFactory uploaderFactory;
     private final CompositionRenderer compositionRenderer;
-    private final TaskExecutor taskExecutor;
-    private final Map<String, VideoJobStatus> jobs = new ConcurrentHashMap<>();
+    private final MediaJobExecutor jobExecutor;
+    private final AssetWorkspace assetWorkspace;
+    private final VideoJobRepository jobRepository;
     private final Counter jobsWithSchedulingCounter;
     private final Counter jobsWithThumbnailCounter;
     private final Counter thumbnailFailureCounter;
     private final Counter uploadFailureCounter;
     private final Counter thumbnailUploadFailureCounter;
+    private final MeterRegistry meterRegistry;
 
     public DefaultVideoProcessingService(
             YouTubeServiceProvider youTubeServiceProvider,
+            YouTubeCategoryCatalog categoryCatalog,
             VideoGeneratorUploaderFactory uploaderFactory,
             CompositionRenderer compositionRenderer,
-            TaskExecutor taskExecutor,
+            MediaJobExecutor jobExecutor,
+            AssetWorkspace assetWorkspace,
+            VideoJobRepository jobRepository,
             MeterRegistry meterRegistry) {
         this.youTubeServiceProvider = youTubeServiceProvider;
+        this.categoryCatalog = categoryCatalog;
+        this.jobRepository = jobRepository;
         this.uploaderFactory = uploaderFactory;
         this.compositionRenderer = compositionRenderer;
-        this.taskExecutor = taskExecutor;
+        this.jobExecutor = jobExecutor;
+        this.assetWorkspace = assetWorkspace;
+        this.meterRegistry = meterRegistry;
         this.jobsWithSchedulingCounter = meterRegistry.counter("media_factory.jobs.with_scheduling");
         this.jobsWithThumbnailCounter = meterRegistry.counter("media_factory.jobs.with_thumbnail");
         this.thumbnailFailureCounter = meterRegistry.counter("media_factory.thumbnail.failures");
@@ -82,6 +108,22 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
                 "media_factory.upload.failures",
                 "phase",
                 "thumbnail_upload");
+        for (VideoJobState state : VideoJobState.values()) {
+            meterRegistry.gauge(
+                    "media_factory.jobs.by_state",
+                    Tags.of("state", state.name()),
+                    jobRepository,
+                    repository -> repository.countByState(state));
+        }
+    }
+
+    @PostConstruct
+    void failInterruptedJobs() {
+        // Temp inputs and executor state do not survive a restart, so unfinished jobs cannot resume.
+        for (VideoJobStatus status : jobRepository.findUnfinished()) {
+            logger.warn("Marking job {} as failed; it was {} when the server stopped", status.jobId(), status.state());
+            markJobFailed(status.jobId(), "Job was interrupted by a server restart. Please resubmit.");
+        }
     }
 
     @Override
@@ -95,53 +137,55 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
             MultipartFile thumbnail) throws IOException {
         String jobId = UUID.randomUUID().toString();
         PublishOptions normalizedPublishOptions = normalizePublishOptions(publishOptions);
-        Path imagePath = null;
-        Path audioPath = null;
-        Path thumbnailPath = null;
 
-        try {
-            imagePath = Files.createTempFile("media-factory-image-", ".jpg");
-            image.transferTo(imagePath);
-
-            audioPath = Files.createTempFile("media-factory-audio-", ".mp3");
-            audio.transferTo(audioPath);
+        try (MediaJobExecutor.Reservation reservation = jobExecutor.reserve()) {
+            Path imagePath = null;
+            Path audioPath = null;
+            Path thumbnailPath = null;
 
-            if (thumbnail != null) {
-                String thumbnailType = thumbnail.getContentType();
-                thumbnailPath = Files.createTempFile("media-factory-thumbnail-", resolveThumbnailSuffix(thumbnailType));
-                thumbnail.transferTo(thumbnailPath);
+            try {
+                imagePath = copyMultipartToTemp(image, "media-factory-image-", ".jpg");
+                audioPath = copyMultipartToTemp(audio, "media-factory-audio-", ".mp3");
+
+                if (thumbnail != null) {
+                    String thumbnailType = thumbnail.getContentType();
+                    thumbnailPath = copyMultipartToTemp(
+                            thumbnail,
+                            "media-factory-thumbnail-",
+                            resolveThumbnailSuffix(thumbnailType));
+                }
+            } catch (IOException e) {
+                deleteTempFile(imagePath);
+                deleteTempFile(audioPath);
+                deleteTempFile(thumbnailPath);
+                throw e;
             }
-        } catch (IOException e) {
-            deleteTempFile(imagePath);
-            deleteTempFile(audioPath);
-            deleteTempFile(thumbnailPath);
-            throw e;
-        }
 
-        trackJobMetrics(normalizedPublishOptions, thumbnailPath != null);
-        enqueueJob(jobId, normalizedPublishOptions);
+            trackJobMetrics(normalizedPublishOptions, thumbnailPath != null);
+            enqueueJob(jobId, normalizedPublishOptions);
 
-        logger.info(
-                "Accepted video job {} privacyStatus={} scheduled={} hasThumbnail={}",
-                jobId,
-                normalizedPublishOptions.privacyStatus(),
-                normalizedPublishOptions.isScheduled(),
-                thumbnailPath != null);
-
-        Path finalImagePath = imagePath;
-        Path finalAudioPath = audioPath;
-        Path finalThumbnailPath = thumbnailPath;
-        String finalThumbnailType = thumbnail != null ? thumbnail.getContentType() : null;
-        taskExecutor.execute(() -> processBasicJob(
-                jobId,
-                finalImagePath,
-                finalAudioPath,
-                finalThumbnailPath,
-                finalThumbnailType,
-                durationSeconds,
-                title,
-                description,
-                normalizedPublishOptions));
+            logger.info(
+                    "Accepted video job {} privacyStatus={} scheduled={} hasThumbnail={}",
+                    jobId,
+                    normalizedPublishOptions.privacyStatus(),
+                    normalizedPublishOptions.isScheduled(),
+                    thumbnailPath != null);
+
+            Path finalImagePath = imagePath;
+            Path finalAudioPath = audioPath;
+            Path finalThumbnailPath = thumbnailPath;
+            String finalThumbnailType = thumbnail != null ? thumbnail.getContentType() : null;
+            reservation.submit(
+                    () -> renderBasicJob(jobId, finalImagePath, finalAudioPath, finalThumbnailPath, durationSeconds),
+                    renderedVideo -> uploadRenderedVideo(
+                            jobId,
+                            renderedVideo,
+                            title,
+                            description,
+                            normalizedPublishOptions,
+                            finalThumbnailPath,
+                            finalThumbnailType));
+        }
 
         return jobId;
     }
@@ -163,82 +207,98 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
         String jobId = UUID.randomUUID().toString();
         PublishOptions normalizedPublishOptions = normalizePublishOptions(publishOptions);
 
-        Path audioPath = null;
-        Path thumbnailPath = null;
-        Map<String, Path> assetPaths = new LinkedHashMap<>();
-
-        try {
-            audioPath = copyMultipartToTemp(audio, "media-factory-composition-audio-", resolveAudioSuffix(audio));
+        try (MediaJobExecutor.Reservation reservation = jobExecutor.reserve()) {
+            Path audioPath = null;
+            Path thumbnailPath = null;
+            Map<String, Path> assetPaths = new LinkedHashMap<>();
+            Map<String, String> assetHashes = new LinkedHashMap<>();
 
-            for (Map.Entry<String, MultipartFile> entry : safeAssets.entrySet()) {
-                String assetId = entry.getKey();
-                MultipartFile asset = entry.getValue();
-                Path assetPath = copyMultipartToTemp(asset, "media-factory-composition-asset-", resolveAssetSuffix(asset));
-                assetPaths.put(assetId, assetPath);
-            }
-
-            if (thumbnail != null) {
-                thumbnailPath = copyMultipartToTemp(
-                        thumbnail,
-                        "media-factory-thumbnail-",
-                        resolveThumbnailSuffix(thumbnail.getContentType()));
+            try {
+                audioPath = copyMultipartToTemp(audio, "media-factory-composition-audio-", resolveAudioSuffix(audio));
+
+                for (Map.Entry<String, MultipartFile> entry : safeAssets.entrySet()) {
+                    String assetId = entry.getKey();
+                    MultipartFile asset = entry.getValue();
+                    MultipartIngestor.IngestedFile ingestedAsset = assetWorkspace.claim(
+                            asset,
+                            COMPOSITION_ASSET_PREFIX,
+                            resolveAssetSuffix(asset));
+                    assetPaths.put(assetId, ingestedAsset.path());
+                    assetHashes.put(assetId, ingestedAsset.sha256());
+                    logger.debug(
+                            "Ingested asset {} for job {} bytes={} sha256={}",
+                            assetId,
+                            jobId,
+                            ingestedAsset.sizeBytes(),
+                            ingestedAsset.sha256());
+                }
+
+                if (thumbnail != null) {
+                    thumbnailPath = copyMultipartToTemp(
+                            thumbnail,
+                            "media-factory-thumbnail-",
+                            resolveThumbnailSuffix(thumbnail.getContentType()));
+                }
+            } catch (IOException e) {
+                deleteTempFile(audioPath);
+                deleteTempFile(thumbnailPath);
+                deleteTempFiles(assetPaths.values());
+                throw e;
             }
-        } catch (IOException e) {
-            deleteTempFile(audioPath);
-            deleteTempFile(thumbnailPath);
-            deleteTempFiles(assetPaths.values());
-            throw e;
-        }
 
-        trackJobMetrics(normalizedPublishOptions, thumbnailPath != null);
-        enqueueJob(jobId, normalizedPublishOptions);
+            trackJobMetrics(normalizedPublishOptions, thumbnailPath != null);
+            enqueueJob(jobId, normalizedPublishOptions);
 
-        logger.info(
-                "Accepted composition job {} scenes={} privacyStatus={} scheduled={} hasThumbnail={}",
-                jobId,
-                manifest.scenes().size(),
-                normalizedPublishOptions.privacyStatus(),
-                normalizedPublishOptions.isScheduled(),
-                thumbnailPath != null);
-
-        Path finalAudioPath = audioPath;
-        Path finalThumbnailPath = thumbnailPath;
-        String finalThumbnailType = thumbnail != null ? thumbnail.getContentType() : null;
-        Map<String, Path> finalAssetPaths = new LinkedHashMap<>(assetPaths);
-
-        taskExecutor.execute(() -> processCompositionJob(
-                jobId,
-                manifest,
-                finalAssetPaths,
-                finalAudioPath,
-                finalThumbnailPath,
-                finalThumbnailType,
-                title,
-                description,
-                normalizedPublishOptions));
+            logger.info(
+                    "Accepted composition job {} scenes={} privacyStatus={} scheduled={} hasThumbnail={}",
+                    jobId,
+                    manifest.scenes().size(),
+                    normalizedPublishOptions.privacyStatus(),
+                    normalizedPublishOptions.isScheduled(),
+                    thumbnailPath != null);
+
+            Path finalAudioPath = audioPath;
+            Path finalThumbnailPath = thumbnailPath;
+            String finalThumbnailType = thumbnail != null ? thumbnail.getContentType() : null;
+            Map<String, Path> finalAssetPaths = new LinkedHashMap<>(assetPaths);
+            Map<String, String> finalAssetHashes = new LinkedHashMap<>(assetHashes);
+
+            reservation.submit(
+                    () -> renderCompositionJob(
+                            jobId,
+                            manifest,
+                            finalAssetPaths,
+                            finalAssetHashes,
+                            finalAudioPath,
+                            finalThumbnailPath),
+                    renderedVideo -> uploadRenderedVideo(
+                            jobId,
+                            renderedVideo,
+                            title,
+                            description,
+                            normalizedPublishOptions,
+                            finalThumbnailPath,
+                            finalThumbnailType));
+        }
 
         return jobId;
     }
 
     @Override
     public Optional<VideoJobStatus> getJobStatus(String jobId) {
-        return Optional.ofNullable(jobs.get(jobId));
+        return jobRepository.findById(jobId);
     }
 
-    private void processBasicJob(
+    private RenderedVideo renderBasicJob(
             String jobId,
             Path imagePath,
             Path audioPath,
             Path thumbnailPath,
-            String thumbnailContentType,
-            int durationSeconds,
-            String title,
-            String description,
-            PublishOptions publishOptions) {
+            int durationSeconds) {
         Path outputVideoPath = null;
-        updateJobState(jobId, VideoJobState.PROCESSING, "Generating video and uploading to YouTube.");
+        updateJobState(jobId, VideoJobState.PROCESSING, "Generating video.");
 
-        try {
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(JOB_ID_MDC_KEY, jobId)) {
             outputVideoPath = Files.createTempFile("media-factory-output-", ".mp4");
             VideoGeneratorUploader uploader = uploaderFactory.create(youTubeServiceProvider.getService());
 
@@ -246,86 +306,136 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
                     imagePath.toString(),
                     audioPath.toString(),
                     durationSeconds,
-                    outputVideoPath.toString());
+                    outputVideoPath.toString(),
+                    progressListener(jobId));
 
-            completeUpload(jobId, uploader, outputVideoPath, title, description, publishOptions, thumbnailPath, thumbnailContentType);
-            logger.info(
-                    "Completed video job {} privacyStatus={} scheduled={}",
-                    jobId,
-                    publishOptions.privacyStatus(),
-                    publishOptions.isScheduled());
+            return renderedVideo(jobId, outputVideoPath, uploader, SOURCE_PRESET_TAG);
         } catch (Exception e) {
             logger.error("Video processing job {} failed", jobId, e);
             markJobFailed(jobId, "Video processing failed. Check server logs.");
+            deleteTempFile(thumbnailPath);
+            deleteTempFile(outputVideoPath);
+            return null;
         } finally {
             deleteTempFile(imagePath);
             deleteTempFile(audioPath);
-            deleteTempFile(thumbnailPath);
-            deleteTempFile(outputVideoPath);
         }
     }
 
-    private void processCompositionJob(
+    private RenderedVideo renderCompositionJob(
             String jobId,
             CompositionManifestRequest manifest,
             Map<String, Path> assetPaths,
+            Map<String, String> assetHashes,
             Path audioPath,
-            Path thumbnailPath,
-            String thumbnailContentType,
-            String title,
-            String description,
-            PublishOptions publishOptions) {
+            Path thumbnailPath) {
         Path outputVideoPath = null;
-        updateJobState(jobId, VideoJobState.PROCESSING, "Generating composition and uploading to YouTube.");
+        updateJobState(jobId, VideoJobState.PROCESSING, "Generating composition.");
 
-        try {
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(JOB_ID_MDC_KEY, jobId)) {
             outputVideoPath = Files.createTempFile("media-factory-composition-output-", ".mp4");
-            CompositionRenderPlan renderPlan = buildRenderPlan(manifest, audioPath, assetPaths);
-            compositionRenderer.renderComposition(renderPlan, outputVideoPath);
+            CompositionRenderPlan renderPlan = buildRenderPlan(manifest, audioPath, assetPaths, assetHashes);
+            compositionRenderer.renderComposition(renderPlan, outputVideoPath, progressListener(jobId));
 
             VideoGeneratorUploader uploader = uploaderFactory.create(youTubeServiceProvider.getService());
-            completeUpload(jobId, uploader, outputVideoPath, title, description, publishOptions, thumbnailPath, thumbnailContentType);
+            String presetTag = manifest.outputPreset() == null ? SOURCE_PRESET_TAG : manifest.outputPreset().name();
+            return renderedVideo(jobId, outputVideoPath, uploader, presetTag);
+        } catch (Exception e) {
+            logger.error("Composition processing job {} failed", jobId, e);
+            markJobFailed(jobId, "Video processing failed. Check server logs.");
+            deleteTempFile(thumbnailPath);
+            deleteTempFile(outputVideoPath);
+            return null;
+        } finally {
+            deleteTempFile(audioPath);
+            deleteTempFiles(assetPaths.values());
+        }
+    }
+
+    private RenderedVideo renderedVideo(
+            String jobId,
+            Path outputVideoPath,
+            VideoGeneratorUploader uploader,
+            String presetTag) {
+        updateJobState(jobId, VideoJobState.PROCESSING, "Video rendered. Waiting to upload to YouTube.");
+        return new RenderedVideo(outputVideoPath, uploader, presetTag);
+    }
+
+    private void uploadRenderedVideo(
+            String jobId,
+            RenderedVideo renderedVideo,
+            String title,
+            String description,
+            PublishOptions publishOptions,
+            Path thumbnailPath,
+            String thumbnailContentType) {
+        updateJobState(jobId, VideoJobState.PROCESSING, "Uploading to YouTube.");
 
+        try (MDC.MDCCloseable ignored = MDC.putCloseable(JOB_ID_MDC_KEY, jobId)) {
+            completeUpload(
+                    jobId,
+                    renderedVideo,
+                    title,
+                    description,
+                    publishOptions,
+                    thumbnailPath,
+                    thumbnailContentType);
             logger.info(
-                    "Completed composition job {} privacyStatus={} scheduled={}",
+                    "Completed video job {} privacyStatus={} scheduled={}",
                     jobId,
                     publishOptions.privacyStatus(),
                     publishOptions.isScheduled());
         } catch (Exception e) {
-            logger.error("Composition processing job {} failed", jobId, e);
+            logger.error("Upload for job {} failed", jobId, e);
             markJobFailed(jobId, "Video processing failed. Check server logs.");
         } finally {
-            deleteTempFile(audioPath);
             deleteTempFile(thumbnailPath);
-            deleteTempFile(outputVideoPath);
-            deleteTempFiles(assetPaths.values());
+            deleteTempFile(renderedVideo.outputVideoPath());
         }
     }
 
     private void completeUpload(
             String jobId,
-            VideoGeneratorUploader uploader,
-            Path outputVideoPath,
+            RenderedVideo renderedVideo,
             String title,
             String description,
             PublishOptions publishOptions,
             Path thumbnailPath,
             String thumbnailContentType) throws Exception {
+        VideoGeneratorUploader uploader = renderedVideo.uploader();
+        PublishOptions uploadOptions = publishOptions;
+        String categoryWarning = null;
+        if (categoryCatalog.isKnownInvalid(publishOptions.categoryId())) {
+            logger.warn(
+                    "Dropping categoryId {} for job {}; it is not an assignable YouTube category",
+                    publishOptions.categoryId(),
+                    jobId);
+            uploadOptions = new PublishOptions(
+                    publishOptions.privacyStatus(),
+                    publishOptions.tags(),
+                    null,
+                    publishOptions.publishAt());
+            categoryWarning = INVALID_CATEGORY_WARNING;
+        }
+        long fileSize = Files.size(renderedVideo.outputVideoPath());
+        long startNanos = System.nanoTime();
         UploadResult uploadResult;
         try {
             uploadResult = uploader.uploadToYouTube(
-                    outputVideoPath.toString(),
+                    renderedVideo.outputVideoPath().toString(),
                     title,
                     description,
-                    publishOptions);
+                    uploadOptions,
+                    uploadProgressListener(jobId, startNanos));
         } catch (Exception uploadError) {
             uploadFailureCounter.increment();
             throw uploadError;
         }
+        recordUploadMetrics(renderedVideo.presetTag(), fileSize, System.nanoTime() - startNanos);
 
         String videoId = uploadResult.videoId();
         String videoUrl = buildVideoUrl(videoId);
-        String warningMessage = uploadResult.warningMessage();
+        String warningMessage = combineWarnings(categoryWarning, uploadResult.warningMessage());
 
         if (thumbnailPath != null) {
             try {
@@ -346,7 +456,8 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
     private CompositionRenderPlan buildRenderPlan(
             CompositionManifestRequest manifest,
             Path audioPath,
-            Map<String, Path> assetPaths) {
+            Map<String, Path> assetPaths,
+            Map<String, String> assetHashes) {
         List<CompositionScenePlan> scenePlans = new ArrayList<>();
         double totalDurationSeconds = 0.0;
 
@@ -381,6 +492,7 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
                 scenePlans,
                 audioPath,
                 assetPaths,
+                assetHashes,
                 totalDurationSeconds);
     }
 
@@ -433,7 +545,7 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
 
     private void enqueueJob(String jobId, PublishOptions publishOptions) {
         Instant now = Instant.now();
-        jobs.put(jobId, new VideoJobStatus(
+        jobRepository.save(new VideoJobStatus(
                 jobId,
                 VideoJobState.QUEUED,
                 "Job queued.",
@@ -445,6 +557,7 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
                 publishOptions.publishAt(),
                 null,
                 null,
+                null,
                 null));
     }
 
@@ -470,7 +583,7 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
     }
 
     private void updateJobState(String jobId, VideoJobState state, String message) {
-        jobs.computeIfPresent(jobId, (ignored, current) -> new VideoJobStatus(
+        jobRepository.update(jobId, current -> new VideoJobStatus(
                 current.jobId(),
                 state,
                 message,
@@ -482,7 +595,84 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
                 current.publishAt(),
                 current.youtubeVideoId(),
                 current.youtubeVideoUrl(),
-                current.warningMessage()));
+                current.warningMessage(),
+                current.progress()));
+    }
+
+    private void updateJobProgress(String jobId, VideoJobProgress progress) {
+        jobRepository.update(jobId, current -> new VideoJobStatus(
+                current.jobId(),
+                current.state(),
+                current.message(),
+                current.createdAt(),
+                Instant.now(),
+                current.privacyStatus(),
+                current.tags(),
+                current.categoryId(),
+                current.publishAt(),
+                current.youtubeVideoId(),
+                current.youtubeVideoUrl(),
+                current.warningMessage(),
+                progress));
+    }
+
+    private RenderProgressListener progressListener(String jobId) {
+        // Every stored update is persisted, so only record stage changes and at most one update per interval.
+        AtomicLong lastUpdateNanos = new AtomicLong(System.nanoTime() - PROGRESS_UPDATE_INTERVAL_NANOS);
+        AtomicReference<String> lastStage = new AtomicReference<>();
+        return (stage, processedSeconds, totalSeconds, speed) -> {
+            long now = System.nanoTime();
+            String previousStage = lastStage.getAndSet(stage);
+            if (stage.equals(previousStage) && now - lastUpdateNanos.get() < PROGRESS_UPDATE_INTERVAL_NANOS) {
+                return;
+            }
+            lastUpdateNanos.set(now);
+            updateJobProgress(jobId, VideoJobProgress.of(stage, processedSeconds, totalSeconds, speed));
+        };
+    }
+
+    private UploadProgressListener uploadProgressListener(String jobId, long startNanos) {
+        AtomicLong lastUpdateNanos = new AtomicLong(startNanos - PROGRESS_UPDATE_INTERVAL_NANOS);
+        UploadThroughput throughput = new UploadThroughput(startNanos);
+        return (bytesSent, totalBytes) -> {
+            long now = System.nanoTime();
+            double bytesPerSecond = throughput.record(bytesSent, now);
+            if (bytesSent < totalBytes && now - lastUpdateNanos.get() < PROGRESS_UPDATE_INTERVAL_NANOS) {
+                return;
+            }
+            lastUpdateNanos.set(now);
+            updateJobProgress(jobId, VideoJobProgress.ofUpload(bytesSent, totalBytes, bytesPerSecond));
+        };
+    }
+
+    private void recordUploadMetrics(String presetTag, long fileSize, long elapsedNanos) {
+        Tags tags = Tags.of("preset", presetTag, "size", sizeBucket(fileSize));
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        DistributionSummary.builder("media_factory.upload.duration")
+                .baseUnit("seconds")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(elapsedSeconds);
+        if (elapsedSeconds > 0) {
+            DistributionSummary.builder("media_factory.upload.throughput")
+                    .baseUnit("bytes_per_second")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(fileSize / elapsedSeconds);
+        }
+    }
+
+    static String sizeBucket(long fileSize) {
+        if (fileSize < 10 * MEGABYTE) {
+            return "lt_10mb";
+        }
+        if (fileSize < 100 * MEGABYTE) {
+            return "10mb_100mb";
+        }
+        if (fileSize < 1024 * MEGABYTE) {
+            return "100mb_1gb";
+        }
+        return "gte_1gb";
     }
 
     private void markJobCompleted(String jobId, String videoId, String videoUrl, String warningMessage) {
@@ -490,7 +680,7 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
                 ? "Video generated and uploaded successfully."
                 : "Video generated and uploaded with warnings.";
 
-        jobs.computeIfPresent(jobId, (ignored, current) -> new VideoJobStatus(
+        jobRepository.update(jobId, current -> new VideoJobStatus(
                 current.jobId(),
                 VideoJobState.COMPLETED,
                 completionMessage,
@@ -502,11 +692,12 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
                 current.publishAt(),
                 videoId,
                 videoUrl,
-                warningMessage));
+                warningMessage,
+                current.progress()));
     }
 
     private void markJobFailed(String jobId, String message) {
-        jobs.computeIfPresent(jobId, (ignored, current) -> new VideoJobStatus(
+        jobRepository.update(jobId, current -> new VideoJobStatus(
                 current.jobId(),
                 VideoJobState.FAILED,
                 message,
@@ -518,13 +709,12 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
                 current.publishAt(),
                 current.youtubeVideoId(),
                 current.youtubeVideoUrl(),
-                current.warningMessage()));
+                current.warningMessage(),
+                current.progress()));
     }
 
     private Path copyMultipartToTemp(MultipartFile file, String prefix, String suffix) throws IOException {
-        Path tempFile = Files.createTempFile(prefix, suffix);
-        file.transferTo(tempFile);
-        return tempFile;
+        return assetWorkspace.claim(file, prefix, suffix).path();
     }
 
     private String resolveAudioSuffix(MultipartFile audio) {
@@ -619,4 +809,7 @@ public class DefaultVideoProcessingService implements VideoProcessingService {
             // Cleanup failures are non-fatal.
         }
     }
+
+    private record RenderedVideo(Path outputVideoPath, VideoGeneratorUploader uploader, String presetTag) {
+    }
 }
@@ -0,0 +1,250 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import github.sarthakdev143.media_factory.service.JobQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs media jobs as a two-stage pipeline: a CPU-bound render stage hands each rendered output to an I/O-bound
+ * upload stage, so one job's upload overlaps the next job's render. Each stage's concurrency is capped by its own
+ * limiter, so with {@code spring.threads.virtual.enabled} on JDK 21+ both stages run on virtual threads and
+ * blocked FFmpeg supervision or uploads no longer pin platform threads.
+ * At most {@code renderThreads + uploadThreads + queueCapacity} jobs are admitted at once. A slot is reserved
+ * before a job's uploads are copied to disk, so a full pipeline rejects work before it costs I/O.
+ */
+@Component
+public class MediaJobExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaJobExecutor.class);
+
+    private final Executor renderExecutor;
+    private final Executor uploadExecutor;
+    private final int capacity;
+    private final long retryAfterSeconds;
+    private final Semaphore slots;
+    private final Stage renderStage;
+    private final Stage uploadStage;
+    private final Counter rejectionCounter;
+
+    @Autowired
+    public MediaJobExecutor(
+            @Value("${media-factory.jobs.executor.render-threads:0}") int renderThreads,
+            @Value("${media-factory.jobs.executor.upload-threads:2}") int uploadThreads,
+            @Value("${media-factory.jobs.executor.queue-capacity:16}") int queueCapacity,
+            @Value("${media-factory.jobs.executor.retry-after:30s}") Duration retryAfter,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        this(
+                newExecutor("media-render-", resolveRenderThreads(renderThreads), Threading.VIRTUAL.isActive(environment)),
+                newExecutor("media-upload-", uploadThreads, Threading.VIRTUAL.isActive(environment)),
+                resolveRenderThreads(renderThreads),
+                uploadThreads,
+                queueCapacity,
+                retryAfter,
+                meterRegistry);
+    }
+
+    MediaJobExecutor(
+            Executor renderExecutor,
+            Executor uploadExecutor,
+            int renderThreads,
+            int uploadThreads,
+            int queueCapacity,
+            Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        if (renderThreads <= 0 || uploadThreads <= 0) {
+            throw new IllegalArgumentException("media-factory.jobs.executor render and upload threads must be positive.");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("media-factory.jobs.executor.queue-capacity must not be negative.");
+        }
+        this.renderExecutor = renderExecutor;
+        this.uploadExecutor = uploadExecutor;
+        this.capacity = renderThreads + uploadThreads + queueCapacity;
+        this.retryAfterSeconds = Math.max(retryAfter.toSeconds(), 1L);
+        this.slots = new Semaphore(capacity);
+        this.rejectionCounter = meterRegistry.counter("media_factory.jobs.executor.rejections");
+        this.renderStage = new Stage("render", renderThreads, meterRegistry);
+        this.uploadStage = new Stage("upload", uploadThreads, meterRegistry);
+        logger.info(
+                "Media job executor renderConcurrency={} uploadConcurrency={} queueCapacity={} virtualThreads={}",
+                renderThreads,
+                uploadThreads,
+                queueCapacity,
+                renderExecutor instanceof VirtualThreadTaskExecutor);
+    }
+
+    public void checkCapacity() {
+        if (slots.availablePermits() == 0) {
+            throw rejected();
+        }
+    }
+
+    public Reservation reserve() {
+        if (!slots.tryAcquire()) {
+            throw rejected();
+        }
+        return new Reservation();
+    }
+
+    int renderQueueDepth() {
+        return renderStage.queued.get();
+    }
+
+    int uploadQueueDepth() {
+        return uploadStage.queued.get();
+    }
+
+    int activeRenders() {
+        return renderStage.active.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Executor executor : new Executor[] {renderExecutor, uploadExecutor}) {
+            if (executor instanceof ExecutorService executorService) {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    private JobQueueFullException rejected() {
+        rejectionCounter.increment();
+        return new JobQueueFullException("Job queue is full (" + capacity + " jobs).", retryAfterSeconds);
+    }
+
+    private static int resolveRenderThreads(int renderThreads) {
+        return renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static Executor newExecutor(String namePrefix, int threads, boolean virtualThreads) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor(namePrefix);
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(threads, 1), runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Stage {
+
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+
+        private Stage(String name, int concurrency, MeterRegistry meterRegistry) {
+            this.permits = new Semaphore(concurrency);
+            meterRegistry.gauge("media_factory.jobs.executor.queue_depth", Tags.of("stage", name), queued);
+            meterRegistry.gauge("media_factory.jobs.executor.active", Tags.of("stage", name), active);
+        }
+
+        private void execute(Executor executor, Runnable task) {
+            queued.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    permits.acquireUninterruptibly();
+                    queued.decrementAndGet();
+                    active.incrementAndGet();
+                    try {
+                        task.run();
+                    } finally {
+                        active.decrementAndGet();
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                queued.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * A held job slot. Closing it without {@link #submit(Supplier, Consumer)} returns the slot, so a submission
+     * that fails while copying its uploads does not leak capacity.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final AtomicBoolean submitted = new AtomicBoolean();
+
+        private Reservation() {
+        }
+
+        /**
+         * Runs {@code render} on the render pool and then hands its result to {@code upload} on the upload pool.
+         * A {@code null} render result ends the job without an upload.
+         */
+        public <T> void submit(Supplier<T> render, Consumer<T> upload) {
+            if (released.get() || !submitted.compareAndSet(false, true)) {
+                throw new IllegalStateException("Reservation was already used.");
+            }
+            try {
+                renderStage.execute(renderExecutor, () -> {
+                    T rendered;
+                    try {
+                        rendered = render.get();
+                    } catch (RuntimeException | Error e) {
+                        release();
+                        throw e;
+                    }
+                    if (rendered == null) {
+                        release();
+                        return;
+                    }
+                    try {
+                        uploadStage.execute(uploadExecutor, () -> {
+                            try {
+                                upload.accept(rendered);
+                            } finally {
+                                release();
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        release();
+                        throw e;
+                    }
+                });
+            } catch (RuntimeException e) {
+                submitted.set(false);
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!submitted.get()) {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Puts an uploaded part at its job file path and reports its SHA-256. Parts at or above the hand-off threshold are
+ * handed to {@link MultipartFile#transferTo(File)}, which goes through {@code Part.write}: the container renames its
+ * spooled file into place when both are on the same filesystem (copying otherwise), and the file is then hashed in
+ * one read-only pass. ({@code transferTo(Path)} would byte-copy the part.) Smaller parts are streamed through
+ * SHA-256 while they are written, so their hash comes free with the copy.
+ */
+@Component
+public class MultipartIngestor {
+
+    private static final int BUFFER_SIZE_BYTES = 256 * 1024;
+
+    private final long handOffThresholdBytes;
+    private final Counter handedOffParts;
+    private final Counter streamedParts;
+
+    public MultipartIngestor(
+            @Value("${media-factory.ingest.hand-off-threshold:64MB}") DataSize handOffThreshold,
+            MeterRegistry meterRegistry) {
+        if (handOffThreshold.isNegative()) {
+            throw new IllegalArgumentException("media-factory.ingest.hand-off-threshold must not be negative.");
+        }
+        this.handOffThresholdBytes = handOffThreshold.toBytes();
+        this.handedOffParts = meterRegistry.counter("media_factory.ingest.parts", "mode", "hand_off");
+        this.streamedParts = meterRegistry.counter("media_factory.ingest.parts", "mode", "stream");
+    }
+
+    IngestedFile ingest(MultipartFile file, String prefix, String suffix) throws IOException {
+        Path target = Files.createTempFile(prefix, suffix);
+        try {
+            return ingest(file, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    IngestedFile ingest(MultipartFile file, Path target) throws IOException {
+        if (file.getSize() >= handOffThresholdBytes) {
+            file.transferTo(target.toAbsolutePath().toFile());
+            handedOffParts.increment();
+            try (InputStream input = Files.newInputStream(target)) {
+                return digest(input, null, target);
+            }
+        }
+
+        try (InputStream input = file.getInputStream(); OutputStream output = Files.newOutputStream(target)) {
+            IngestedFile ingested = digest(input, output, target);
+            streamedParts.increment();
+            return ingested;
+        }
+    }
+
+    private static IngestedFile digest(InputStream input, OutputStream output, Path target) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE_BYTES];
+        long sizeBytes = 0;
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+            if (output != null) {
+                output.write(buffer, 0, read);
+            }
+            sizeBytes += read;
+        }
+        return new IngestedFile(target, HexFormat.of().formatHex(digest.digest()), sizeBytes);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * An ingested part and the SHA-256 of its content.
+     */
+    record IngestedFile(Path path, String sha256, long sizeBytes) {
+    }
+}
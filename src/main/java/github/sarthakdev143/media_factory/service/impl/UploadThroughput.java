@@ -0,0 +1,40 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload rate as a time-weighted moving average of the rate between acknowledged chunks. A chunk that took long
+ * pulls the rate (and so the ETA) down as soon as it is acknowledged, instead of being averaged away over the
+ * whole upload. When the acknowledged offset goes backwards (a new upload session), the rate starts over.
+ */
+final class UploadThroughput {
+
+    private static final double TIME_CONSTANT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private long lastBytes;
+    private long lastNanos;
+    private double bytesPerSecond;
+
+    UploadThroughput(long startNanos) {
+        this.lastNanos = startNanos;
+    }
+
+    synchronized double record(long bytesSent, long nanos) {
+        if (bytesSent < lastBytes) {
+            lastBytes = bytesSent;
+            lastNanos = nanos;
+            bytesPerSecond = 0.0;
+            return bytesPerSecond;
+        }
+        long elapsedNanos = nanos - lastNanos;
+        if (elapsedNanos <= 0) {
+            return bytesPerSecond;
+        }
+        double sample = (bytesSent - lastBytes) * 1_000_000_000.0 / elapsedNanos;
+        double weight = bytesPerSecond == 0.0 ? 1.0 : 1.0 - Math.exp(-elapsedNanos / TIME_CONSTANT_NANOS);
+        bytesPerSecond += weight * (sample - bytesPerSecond);
+        lastBytes = bytesSent;
+        lastNanos = nanos;
+        return bytesPerSecond;
+    }
+}
@@ -0,0 +1,86 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of video probe results keyed by the asset's SHA-256, so a clip that has been probed once validates
+ * again without starting ffmpeg.
+ */
+@Component
+public class VideoProbeCache {
+
+    private final int maxEntries;
+    private final Map<String, ProbeResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public VideoProbeCache(
+            @Value("${media-factory.validation.probe-cache.max-entries:4096}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = Math.max(maxEntries, 0);
+        this.hitCounter = meterRegistry.counter("media_factory.validation.probe_cache.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("media_factory.validation.probe_cache.requests", "result", "miss");
+        this.evictionCounter = meterRegistry.counter("media_factory.validation.probe_cache.evictions");
+        meterRegistry.gauge("media_factory.validation.probe_cache.entries", this, VideoProbeCache::entryCount);
+        meterRegistry.gauge("media_factory.validation.probe_cache.hit_ratio", this, VideoProbeCache::hitRatio);
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    public synchronized ProbeResult get(String contentHash) {
+        if (!isEnabled() || contentHash == null) {
+            return null;
+        }
+        ProbeResult result = entries.get(contentHash);
+        if (result == null) {
+            missCounter.increment();
+        } else {
+            hitCounter.increment();
+        }
+        return result;
+    }
+
+    public synchronized void put(String contentHash, ProbeResult result) {
+        if (!isEnabled() || contentHash == null) {
+            return;
+        }
+        entries.put(contentHash, result);
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCounter.increment();
+        }
+    }
+
+    synchronized int entryCount() {
+        return entries.size();
+    }
+
+    double hitRatio() {
+        double hits = hitCounter.count();
+        double lookups = hits + missCounter.count();
+        return lookups == 0 ? 0.0 : hits / lookups;
+    }
+
+    /**
+     * What one probe of a video asset found. Stream fields are {@code null} when ffmpeg did not report them.
+     */
+    public record ProbeResult(
+            double durationSeconds,
+            Integer width,
+            Integer height,
+            Double frameRate,
+            String codec) {
+    }
+}
@@ -10,10 +10,13 @@ import github.sarthakdev143.media_factory.model.PrivacyStatus;
 import github.sarthakdev143.media_factory.model.PublishOptions;
 import github.sarthakdev143.media_factory.model.SceneType;
 import github.sarthakdev143.media_factory.model.TransitionType;
+import github.sarthakdev143.media_factory.model.VideoJobProgress;
 import github.sarthakdev143.media_factory.model.VideoJobState;
 import github.sarthakdev143.media_factory.model.VideoJobStatus;
+import github.sarthakdev143.media_factory.service.JobQueueFullException;
 import github.sarthakdev143.media_factory.service.VideoProcessingService;
 import github.sarthakdev143.media_factory.service.impl.CompositionManifestValidator;
+import github.sarthakdev143.media_factory.service.impl.MediaJobExecutor;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,12 +38,14 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -56,6 +61,9 @@ class VideoControllerTest {
     @MockitoBean
     private CompositionManifestValidator compositionManifestValidator;
 
+    @MockitoBean
+    private MediaJobExecutor mediaJobExecutor;
+
     @Test
     void generateReturnsAcceptedForValidRequest() throws Exception {
         when(videoProcessingService.submitJob(any(), any(), anyInt(), anyString(), anyString(), any(PublishOptions.class), any()))
@@ -333,6 +341,39 @@ class VideoControllerTest {
         verifyNoInteractions(videoProcessingService);
     }
 
+    @Test
+    void generateReturnsTooManyRequestsWhenJobQueueIsFull() throws Exception {
+        doThrow(new JobQueueFullException("Job queue is full (18 jobs).", 30)).when(mediaJobExecutor).checkCapacity();
+
+        mockMvc.perform(multipart("/api/video/generate")
+                        .file(validImage())
+                        .file(validAudio())
+                        .param("duration", "60")
+                        .param("title", "My title")
+                        .param("description", "My description"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+
+        verifyNoInteractions(videoProcessingService);
+    }
+
+    @Test
+    void compositionReturnsTooManyRequestsWhenQueueFillsDuringSubmission() throws Exception {
+        when(compositionManifestValidator.normalizeAndValidate(any(CompositionManifestRequest.class), anyMap()))
+                .thenReturn(validCompositionManifest());
+        when(videoProcessingService.submitCompositionJob(anyMap(), any(), any(), anyString(), anyString(), any(), any()))
+                .thenThrow(new JobQueueFullException("Job queue is full (18 jobs).", 30));
+
+        mockMvc.perform(multipart("/api/video/compositions")
+                        .file(validAudio())
+                        .file(validCompositionAsset())
+                        .param("manifest", validManifestJson())
+                        .param("title", "Composition")
+                        .param("description", "Description"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
     @Test
     void getStatusReturnsCurrentJobState() throws Exception {
         VideoJobStatus jobStatus = new VideoJobStatus(
@@ -347,7 +388,8 @@ class VideoControllerTest {
                 Instant.parse("2026-01-01T01:00:00Z"),
                 "video-123",
                 "https://www.youtube.com/watch?v=video-123",
-                "Thumbnail upload failed");
+                "Thumbnail upload failed",
+                new VideoJobProgress("render_scenes", 42.5, 1.5, 90L));
         when(videoProcessingService.getJobStatus("job-123")).thenReturn(Optional.of(jobStatus));
 
         mockMvc.perform(get("/api/video/status/job-123"))
@@ -355,7 +397,11 @@ class VideoControllerTest {
                 .andExpect(jsonPath("$.jobId").value("job-123"))
                 .andExpect(jsonPath("$.state").value("PROCESSING"))
                 .andExpect(jsonPath("$.youtubeVideoUrl").value("https://www.youtube.com/watch?v=video-123"))
-                .andExpect(jsonPath("$.warningMessage").value("Thumbnail upload failed"));
+                .andExpect(jsonPath("$.warningMessage").value("Thumbnail upload failed"))
+                .andExpect(jsonPath("$.progress.stage").value("render_scenes"))
+                .andExpect(jsonPath("$.progress.percentComplete").value(42.5))
+                .andExpect(jsonPath("$.progress.encodeSpeed").value(1.5))
+                .andExpect(jsonPath("$.progress.etaSeconds").value(90));
     }
 
     @Test
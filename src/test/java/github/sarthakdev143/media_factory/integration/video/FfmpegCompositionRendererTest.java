@@ -2,25 +2,146 @@ package github.sarthakdev143.media_factory.integration.video;
 
 import github.sarthakdev143.media_factory.model.CaptionPosition;
 import github.sarthakdev143.media_factory.model.MotionType;
+import github.sarthakdev143.media_factory.model.OutputPreset;
 import github.sarthakdev143.media_factory.model.SceneType;
 import github.sarthakdev143.media_factory.model.TransitionType;
 import github.sarthakdev143.media_factory.model.VisualFilterType;
 import github.sarthakdev143.media_factory.model.composition.CompositionCaptionPlan;
 import github.sarthakdev143.media_factory.model.composition.CompositionColorGradePlan;
 import github.sarthakdev143.media_factory.model.composition.CompositionOverlayPlan;
+import github.sarthakdev143.media_factory.model.composition.CompositionRenderPlan;
 import github.sarthakdev143.media_factory.model.composition.CompositionScenePlan;
 import github.sarthakdev143.media_factory.model.composition.CompositionTransitionPlan;
 import github.sarthakdev143.media_factory.model.composition.CompositionVisualEditPlan;
+import github.sarthakdev143.media_factory.service.RenderProgressListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class FfmpegCompositionRendererTest {
 
-    private final FfmpegCompositionRenderer renderer = new FfmpegCompositionRenderer();
+    private final FfmpegCompositionRenderer renderer = new FfmpegCompositionRenderer(
+            2,
+            new SceneClipCache(Path.of("scene-cache"), 0, new SimpleMeterRegistry()),
+            CompositionRenderMode.MULTI_PASS,
+            12,
+            IntermediateCodec.H264,
+            "");
+
+    private static final Pattern SCENE_CLIP = Pattern.compile("scene-(\\d+)\\.mp4$");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parallelSceneRendersAreCombinedInSceneOrderWhateverOrderTheyFinishIn() throws Exception {
+        List<CountDownLatch> finished = List.of(
+                new CountDownLatch(1), new CountDownLatch(1), new CountDownLatch(1), new CountDownLatch(0));
+        List<Integer> finishOrder = Collections.synchronizedList(new ArrayList<>());
+        List<String> concatList = new ArrayList<>();
+        FfmpegCompositionRenderer parallelRenderer = rendererWith(3, command -> {
+            Matcher scene = sceneClip(command);
+            if (scene == null) {
+                if (command.contains("concat")) {
+                    concatList.addAll(Files.readAllLines(Path.of(command.get(command.indexOf("-i") + 1))));
+                }
+                return new StubProcess(new CountDownLatch(0), 0, null);
+            }
+            // Scene n finishes only after scene n + 1, so scenes complete in reverse order.
+            int index = Integer.parseInt(scene.group(1));
+            return new StubProcess(finished.get(index + 1), 0, () -> {
+                finishOrder.add(index);
+                finished.get(index).countDown();
+            });
+        });
+
+        parallelRenderer.renderComposition(
+                videoPlan(3), tempDir.resolve("out.mp4"), RenderProgressListener.NONE);
+
+        assertThat(finishOrder).containsExactly(2, 1, 0);
+        assertThat(concatList).hasSize(3);
+        for (int index = 0; index < 3; index++) {
+            assertThat(concatList.get(index)).endsWith("scene-" + index + ".mp4'");
+        }
+        parallelRenderer.shutdown();
+    }
+
+    @Test
+    void firstFailedSceneCancelsTheOtherScenesAndDestroysTheirProcesses() {
+        CountDownLatch othersStarted = new CountDownLatch(2);
+        Map<Integer, StubProcess> processes = new ConcurrentHashMap<>();
+        List<List<String>> commands = Collections.synchronizedList(new ArrayList<>());
+        FfmpegCompositionRenderer parallelRenderer = rendererWith(3, command -> {
+            commands.add(command);
+            int index = Integer.parseInt(sceneClip(command).group(1));
+            StubProcess process = index == 0
+                    ? new StubProcess(othersStarted, 1, null)
+                    : new StubProcess(new CountDownLatch(1), 0, null);
+            processes.put(index, process);
+            if (index != 0) {
+                othersStarted.countDown();
+            }
+            return process;
+        });
+
+        assertThatThrownBy(() -> parallelRenderer.renderComposition(
+                videoPlan(3), tempDir.resolve("out.mp4"), RenderProgressListener.NONE))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("render scene 0")
+                .hasMessageContaining("exit code 1");
+
+        assertThat(processes).containsOnlyKeys(0, 1, 2);
+        assertThat(processes.get(1).destroyed()).isTrue();
+        assertThat(processes.get(2).destroyed()).isTrue();
+        assertThat(commands).allSatisfy(command -> assertThat(sceneClip(command)).isNotNull());
+        parallelRenderer.shutdown();
+    }
+
+    @Test
+    void failedRenderWaitsForSceneTasksStillStartingAProcessAndDestroysIt() {
+        CountDownLatch slowSceneStarting = new CountDownLatch(1);
+        Map<Integer, StubProcess> processes = new ConcurrentHashMap<>();
+        FfmpegCompositionRenderer parallelRenderer = rendererWith(2, command -> {
+            int index = Integer.parseInt(sceneClip(command).group(1));
+            if (index == 0) {
+                return new StubProcess(slowSceneStarting, 1, null);
+            }
+            // Scene 1 is still launching FFmpeg when scene 0 fails.
+            slowSceneStarting.countDown();
+            sleepUninterruptibly(300);
+            StubProcess process = new StubProcess(new CountDownLatch(1), 0, null);
+            processes.put(index, process);
+            return process;
+        });
+
+        assertThatThrownBy(() -> parallelRenderer.renderComposition(
+                videoPlan(2), tempDir.resolve("out.mp4"), RenderProgressListener.NONE))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("render scene 0");
+
+        assertThat(processes).containsOnlyKeys(1);
+        assertThat(processes.get(1).destroyed()).isTrue();
+        parallelRenderer.shutdown();
+    }
 
     @Test
     void buildImageSceneCommandIncludesMotionAndCaptionFilters() {
@@ -46,6 +167,67 @@ class FfmpegCompositionRendererTest {
         assertThat(filter).contains("drawtext");
     }
 
+    @Test
+    void buildImagePrescaleCommandWritesOneFrameAtTheOutputSize() {
+        List<String> command = renderer.buildImagePrescaleCommand(
+                Path.of("photo-6000x4000.jpg"),
+                1920,
+                1080,
+                Path.of("image-0.png"));
+
+        assertThat(valueAfter(command, "-vf"))
+                .isEqualTo("scale=1920:1080:force_original_aspect_ratio=decrease,"
+                        + "pad=1920:1080:(ow-iw)/2:(oh-ih)/2:black,setsar=1");
+        assertThat(command).containsSequence("-frames:v", "1");
+        assertThat(command).doesNotContain("-loop");
+        assertThat(command.get(command.size() - 1)).isEqualTo("image-0.png");
+    }
+
+    @Test
+    void stillSceneCommandFiltersOnceAndKeepsStreamCopyParameters() {
+        CompositionScenePlan scene = new CompositionScenePlan(
+                "scene-1",
+                SceneType.IMAGE,
+                4.0,
+                0.0,
+                MotionType.NONE,
+                new CompositionCaptionPlan("Title card", 0.0, 4.0, CaptionPosition.CENTER),
+                new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                null);
+
+        List<String> command = renderer.buildStillImageSceneCommand(
+                scene, Path.of("image-0.png"), 1920, 1080, Path.of("scene-0.mp4"));
+
+        assertThat(command).doesNotContain("-loop");
+        assertThat(valueAfter(command, "-vf"))
+                .contains("drawtext")
+                .endsWith(",loop=loop=119:size=1:start=0,setpts=N/(30*TB)");
+        assertThat(command).containsSequence("-preset", "veryfast", "-tune", "stillimage");
+        assertThat(command).containsSequence("-g", "120", "-keyint_min", "120");
+        assertThat(command).containsSequence("-profile:v", "high");
+        assertThat(command).containsSequence("-video_track_timescale", "15360");
+    }
+
+    @Test
+    void onlyNoMotionImagesWithFullSceneCaptionsAreStill() {
+        CompositionCaptionPlan fullCaption = new CompositionCaptionPlan("Hi", 0.0, 5.0, CaptionPosition.BOTTOM);
+        CompositionCaptionPlan partialCaption = new CompositionCaptionPlan("Hi", 1.0, 5.0, CaptionPosition.BOTTOM);
+
+        assertThat(renderer.isStillScene(imageScene(MotionType.NONE, null))).isTrue();
+        assertThat(renderer.isStillScene(imageScene(null, fullCaption))).isTrue();
+        assertThat(renderer.isStillScene(imageScene(MotionType.NONE, partialCaption))).isFalse();
+        assertThat(renderer.isStillScene(imageScene(MotionType.ZOOM_IN, null))).isFalse();
+        assertThat(renderer.isStillScene(new CompositionScenePlan(
+                "scene-video",
+                SceneType.VIDEO,
+                5.0,
+                0.0,
+                MotionType.NONE,
+                null,
+                new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                null))).isFalse();
+    }
+
     @Test
     void buildVideoSceneCommandContainsTrimArguments() {
         CompositionScenePlan scene = new CompositionScenePlan(
@@ -82,6 +264,77 @@ class FfmpegCompositionRendererTest {
         assertThat(filter).doesNotContain("xfade");
     }
 
+    @Test
+    void sceneCommandsShareGopAndTimebaseForStreamCopyConcat() {
+        CompositionScenePlan scene = new CompositionScenePlan(
+                "scene-1",
+                SceneType.IMAGE,
+                3.0,
+                0.0,
+                MotionType.NONE,
+                null,
+                new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                null);
+
+        List<String> imageCommand = renderer.buildImageSceneCommand(
+                scene, Path.of("scene.jpg"), 1080, 1920, Path.of("out.mp4"));
+        List<String> videoCommand = renderer.buildVideoSceneCommand(
+                scene, Path.of("scene.mp4"), 1080, 1920, Path.of("out.mp4"));
+
+        for (List<String> command : List.of(imageCommand, videoCommand)) {
+            assertThat(command).containsSequence("-profile:v", "high");
+            assertThat(command).containsSequence("-g", "60", "-keyint_min", "60", "-sc_threshold", "0");
+            assertThat(command).containsSequence("-video_track_timescale", "15360");
+        }
+    }
+
+    @Test
+    void ffv1IntermediateCodecEncodesLosslessIntraOnlySceneClips() {
+        FfmpegCompositionRenderer mezzanineRenderer = new FfmpegCompositionRenderer(
+                2,
+                new SceneClipCache(Path.of("scene-cache"), 0, new SimpleMeterRegistry()),
+                CompositionRenderMode.MULTI_PASS,
+                12,
+                IntermediateCodec.FFV1,
+                "");
+        CompositionScenePlan scene = new CompositionScenePlan(
+                "scene-1",
+                SceneType.IMAGE,
+                3.0,
+                0.0,
+                MotionType.NONE,
+                null,
+                new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                null);
+
+        List<String> command = mezzanineRenderer.buildImageSceneCommand(
+                scene, Path.of("scene.jpg"), 1080, 1920, Path.of("scene-0.mkv"));
+
+        assertThat(command).containsSequence("-c:v", "ffv1", "-level", "3", "-g", "1");
+        assertThat(command).doesNotContain("libx264", "-crf");
+    }
+
+    @Test
+    void buildStreamCopyConcatCommandUsesConcatDemuxerWithoutReencoding() {
+        List<String> command = renderer.buildStreamCopyConcatCommand(Path.of("scenes.txt"), Path.of("merged.mp4"));
+
+        assertThat(command).containsSequence("-f", "concat", "-safe", "0", "-i", Path.of("scenes.txt").toString());
+        assertThat(command).containsSequence("-c", "copy");
+        assertThat(command).doesNotContain("-filter_complex", "libx264");
+    }
+
+    @Test
+    void buildConcatListQuotesClipPaths() {
+        Path plain = Path.of("work", "scene-000.mp4").toAbsolutePath();
+        Path quoted = Path.of("work", "it's.mp4").toAbsolutePath();
+
+        String concatList = renderer.buildConcatList(List.of(plain, quoted));
+
+        assertThat(concatList).isEqualTo(
+                "file '" + plain + "'\n"
+                        + "file '" + quoted.toString().replace("'", "'\\''") + "'\n");
+    }
+
     @Test
     void buildVisualTransitionCommandUsesXfadeWhenRequested() {
         List<CompositionScenePlan> scenes = List.of(
@@ -114,6 +367,155 @@ class FfmpegCompositionRendererTest {
         assertThat(filter).contains("duration=0.600");
     }
 
+    @Test
+    void transitionKeyframeTimesMarkHeadAndTailWindowsOfEachScene() {
+        List<CompositionScenePlan> scenes = List.of(
+                new CompositionScenePlan(
+                        "a",
+                        SceneType.IMAGE,
+                        4.0,
+                        0.0,
+                        MotionType.NONE,
+                        null,
+                        new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                        null),
+                new CompositionScenePlan(
+                        "b",
+                        SceneType.IMAGE,
+                        5.0,
+                        0.0,
+                        MotionType.NONE,
+                        null,
+                        new CompositionTransitionPlan(TransitionType.CROSSFADE, 0.5),
+                        null),
+                new CompositionScenePlan(
+                        "c",
+                        SceneType.IMAGE,
+                        3.0,
+                        0.0,
+                        MotionType.NONE,
+                        null,
+                        new CompositionTransitionPlan(TransitionType.CROSSFADE, 1.0),
+                        null));
+
+        assertThat(renderer.transitionKeyframeTimes(scenes, 0)).containsExactly(3.5);
+        assertThat(renderer.transitionKeyframeTimes(scenes, 1)).containsExactly(0.5, 4.0);
+        assertThat(renderer.transitionKeyframeTimes(scenes, 2)).containsExactly(1.0);
+
+        List<String> sceneCommand = renderer.withForcedKeyframes(
+                List.of("ffmpeg", "-i", "b.jpg", "out.mp4"),
+                renderer.transitionKeyframeTimes(scenes, 1));
+        assertThat(sceneCommand).containsExactly("ffmpeg", "-i", "b.jpg", "-force_key_frames", "0.483,3.983", "out.mp4");
+    }
+
+    @Test
+    void transitionWindowCommandsSplitAtKeyframesAndReencodeOnlyTheOverlap() {
+        List<String> splitCommand = renderer.buildSegmentSplitCommand(
+                Path.of("scene-1.mp4"),
+                List.of(0.5, 4.0),
+                Path.of("scene-1-part-%d.mp4"));
+
+        assertThat(splitCommand).containsSequence("-c", "copy", "-f", "segment", "-segment_times", "0.483,3.983");
+        assertThat(splitCommand).containsSequence("-reset_timestamps", "1");
+
+        List<String> windowCommand = renderer.buildTransitionWindowCommand(
+                Path.of("scene-0-part-1.mp4"),
+                Path.of("scene-1-part-0.mp4"),
+                0.5,
+                Path.of("transition-1.mp4"));
+
+        assertThat(valueAfter(windowCommand, "-filter_complex"))
+                .isEqualTo("[0:v][1:v]xfade=transition=fade:duration=0.500:offset=0[v]");
+        assertThat(windowCommand).containsSequence("-g", "60", "-keyint_min", "60");
+    }
+
+    @Test
+    void buildSinglePassCommandBuildsOneGraphWithScenesTransitionsAndAudio() {
+        List<CompositionScenePlan> scenes = List.of(
+                new CompositionScenePlan(
+                        "a",
+                        SceneType.IMAGE,
+                        2.0,
+                        0.0,
+                        MotionType.ZOOM_IN,
+                        new CompositionCaptionPlan("Intro", 0.0, 1.5, CaptionPosition.TOP),
+                        new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                        null),
+                new CompositionScenePlan(
+                        "b",
+                        SceneType.VIDEO,
+                        3.0,
+                        1.0,
+                        MotionType.NONE,
+                        null,
+                        new CompositionTransitionPlan(TransitionType.CROSSFADE, 0.5),
+                        null));
+        CompositionRenderPlan plan = new CompositionRenderPlan(
+                OutputPreset.LANDSCAPE_16_9,
+                scenes,
+                Path.of("audio.mp3"),
+                Map.of("a", Path.of("a.jpg"), "b", Path.of("b.mp4")),
+                4.5);
+
+        List<String> command = renderer.buildSinglePassCommand(
+                plan,
+                List.of(Path.of("a.jpg"), Path.of("b.mp4")),
+                Path.of("out.mp4"));
+
+        assertThat(command).containsSequence("-loop", "1", "-i", Path.of("a.jpg").toString());
+        assertThat(command).containsSequence("-ss", "1.000", "-t", "3.000", "-i", Path.of("b.mp4").toString());
+        assertThat(command).containsSequence("-stream_loop", "-1", "-i", Path.of("audio.mp3").toString());
+        assertThat(command).containsSequence("-map", "[xf1]", "-map", "2:a:0");
+        assertThat(command).contains("-shortest");
+        assertThat(command.stream().filter("-filter_complex"::equals)).hasSize(1);
+
+        String filter = valueAfter(command, "-filter_complex");
+        assertThat(filter).contains("[0:v]setpts=PTS-STARTPTS,scale=1920:1080");
+        assertThat(filter).contains("zoompan");
+        assertThat(filter).contains("drawtext");
+        assertThat(filter).contains("trim=duration=2.000");
+        assertThat(filter).contains("[s0][s1]xfade=transition=fade:duration=0.500:offset=1.500[xf1]");
+    }
+
+    @Test
+    void buildSinglePassCommandUsesConcatForCutOnlyScenes() {
+        List<CompositionScenePlan> scenes = List.of(
+                new CompositionScenePlan(
+                        "a",
+                        SceneType.IMAGE,
+                        2.0,
+                        0.0,
+                        MotionType.NONE,
+                        null,
+                        new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                        null),
+                new CompositionScenePlan(
+                        "b",
+                        SceneType.IMAGE,
+                        2.0,
+                        0.0,
+                        MotionType.NONE,
+                        null,
+                        new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                        null));
+        CompositionRenderPlan plan = new CompositionRenderPlan(
+                OutputPreset.SQUARE_1_1,
+                scenes,
+                Path.of("audio.mp3"),
+                Map.of("a", Path.of("a.jpg"), "b", Path.of("b.jpg")),
+                4.0);
+
+        List<String> command = renderer.buildSinglePassCommand(
+                plan,
+                List.of(Path.of("a.jpg"), Path.of("b.jpg")),
+                Path.of("out.mp4"));
+
+        String filter = valueAfter(command, "-filter_complex");
+        assertThat(filter).endsWith("[s0][s1]concat=n=2:v=1:a=0[v]");
+        assertThat(filter).doesNotContain("xfade");
+        assertThat(command).containsSequence("-map", "[v]", "-map", "2:a:0");
+    }
+
     @Test
     void buildSceneFilterIncludesVisualPresetColorGradeAndOverlay() {
         CompositionScenePlan scene = new CompositionScenePlan(
@@ -136,8 +538,166 @@ class FfmpegCompositionRendererTest {
         assertThat(filter).contains("drawbox=x=0:y=0:w=iw:h=ih:color=0x224466@0.300:t=fill");
     }
 
+    private CompositionScenePlan imageScene(MotionType motion, CompositionCaptionPlan caption) {
+        return new CompositionScenePlan(
+                "scene-image",
+                SceneType.IMAGE,
+                5.0,
+                0.0,
+                motion,
+                caption,
+                new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                null);
+    }
+
+    private FfmpegCompositionRenderer rendererWith(
+            int sceneParallelism,
+            FfmpegCompositionRenderer.ProcessLauncher processLauncher) {
+        return new FfmpegCompositionRenderer(
+                sceneParallelism,
+                new SceneClipCache(Path.of("scene-cache"), 0, new SimpleMeterRegistry()),
+                CompositionRenderMode.MULTI_PASS,
+                12,
+                IntermediateCodec.H264,
+                "",
+                processLauncher);
+    }
+
+    private CompositionRenderPlan videoPlan(int sceneCount) {
+        List<CompositionScenePlan> scenes = new ArrayList<>();
+        Map<String, Path> assetPaths = new HashMap<>();
+        for (int index = 0; index < sceneCount; index++) {
+            String assetId = "clip-" + index;
+            scenes.add(new CompositionScenePlan(
+                    assetId,
+                    SceneType.VIDEO,
+                    2.0,
+                    0.0,
+                    MotionType.NONE,
+                    null,
+                    new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                    null));
+            assetPaths.put(assetId, tempDir.resolve(assetId + "-source.mp4"));
+        }
+        return new CompositionRenderPlan(
+                OutputPreset.LANDSCAPE_16_9,
+                scenes,
+                tempDir.resolve("audio.mp3"),
+                assetPaths,
+                Map.of(),
+                2.0 * sceneCount);
+    }
+
+    private static void sleepUninterruptibly(long millis) {
+        boolean interrupted = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Matcher sceneClip(List<String> command) {
+        Matcher matcher = SCENE_CLIP.matcher(command.get(command.size() - 1));
+        return matcher.find() ? matcher : null;
+    }
+
     private String valueAfter(List<String> values, String flag) {
         int index = values.indexOf(flag);
         return values.get(index + 1);
     }
+
+    /**
+     * An FFmpeg process whose output ends once {@code outputEnds} opens or it is destroyed. Like a real process
+     * pipe, reading its output ignores interrupts.
+     */
+    private static final class StubProcess extends Process {
+
+        private final CountDownLatch outputEnds;
+        private final int exitCode;
+        private final Runnable onExit;
+        private final CountDownLatch destroyed = new CountDownLatch(1);
+
+        private StubProcess(CountDownLatch outputEnds, int exitCode, Runnable onExit) {
+            this.outputEnds = outputEnds;
+            this.exitCode = exitCode;
+            this.onExit = onExit;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new InputStream() {
+                @Override
+                public int read() {
+                    awaitOutputEnd();
+                    return -1;
+                }
+            };
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public int waitFor() {
+            return exitValue();
+        }
+
+        @Override
+        public boolean waitFor(long timeout, TimeUnit unit) {
+            return true;
+        }
+
+        @Override
+        public int exitValue() {
+            return destroyed() ? 137 : exitCode;
+        }
+
+        @Override
+        public void destroy() {
+            destroyed.countDown();
+        }
+
+        @Override
+        public Process destroyForcibly() {
+            destroy();
+            return this;
+        }
+
+        boolean destroyed() {
+            return destroyed.getCount() == 0;
+        }
+
+        private void awaitOutputEnd() {
+            boolean interrupted = false;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (outputEnds.getCount() > 0 && !destroyed() && System.nanoTime() < deadline) {
+                try {
+                    outputEnds.await(10, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (onExit != null && !destroyed()) {
+                onExit.run();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 }
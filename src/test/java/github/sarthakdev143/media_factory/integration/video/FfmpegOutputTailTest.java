@@ -0,0 +1,47 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FfmpegOutputTailTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    void keepsOnlyTheMostRecentLines() {
+        FfmpegOutputTail tail = new FfmpegOutputTail(3, 1024);
+        for (int index = 1; index <= 5; index++) {
+            tail.append("line " + index);
+        }
+
+        assertThat(tail.lineCount()).isEqualTo(3);
+        assertThat(tail.toString())
+                .isEqualTo("[... 2 earlier lines omitted]" + NL + "line 3" + NL + "line 4" + NL + "line 5" + NL);
+    }
+
+    @Test
+    void dropsOldestLinesWhenCharacterBudgetIsExceeded() {
+        FfmpegOutputTail tail = new FfmpegOutputTail(10, 10);
+        tail.append("aaaa");
+        tail.append("bbbb");
+        tail.append("cccc");
+
+        assertThat(tail.lineCount()).isEqualTo(2);
+        assertThat(tail.toString()).endsWith("bbbb" + NL + "cccc" + NL);
+    }
+
+    @Test
+    void truncatesSingleOverlongLineToItsEnd() {
+        FfmpegOutputTail tail = new FfmpegOutputTail(4, 5);
+        tail.append("0123456789");
+
+        assertThat(tail.toString()).isEqualTo("56789" + NL);
+    }
+
+    @Test
+    void rejectsNonPositiveLimits() {
+        assertThatThrownBy(() -> new FfmpegOutputTail(0, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
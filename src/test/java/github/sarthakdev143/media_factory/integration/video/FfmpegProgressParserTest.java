@@ -0,0 +1,47 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FfmpegProgressParserTest {
+
+    @Test
+    void acceptReportsOutTimeAndSpeedOncePerProgressBlock() {
+        List<double[]> updates = new ArrayList<>();
+        FfmpegProgressParser parser = new FfmpegProgressParser(
+                (outTimeSeconds, speed) -> updates.add(new double[]{outTimeSeconds, speed}));
+
+        assertThat(parser.accept("frame=120")).isTrue();
+        assertThat(parser.accept("out_time_us=4000000")).isTrue();
+        assertThat(parser.accept("out_time=00:00:04.000000")).isTrue();
+        assertThat(parser.accept("speed=2.5x")).isTrue();
+        assertThat(parser.accept("progress=continue")).isTrue();
+        assertThat(parser.accept("out_time_us=N/A")).isTrue();
+        assertThat(parser.accept("speed=N/A")).isTrue();
+        assertThat(parser.accept("progress=end")).isTrue();
+
+        assertThat(updates).hasSize(2);
+        assertThat(updates.get(0)).containsExactly(4.0, 2.5);
+        assertThat(updates.get(1)).containsExactly(4.0, 0.0);
+    }
+
+    @Test
+    void acceptLeavesRegularLogLinesForTheCaller() {
+        FfmpegProgressParser parser = new FfmpegProgressParser((outTimeSeconds, speed) -> {
+        });
+
+        assertThat(parser.accept("Input #0, image2, from 'scene.jpg':")).isFalse();
+        assertThat(parser.accept("  Duration: 00:00:00.04, start: 0.000000, bitrate: N/A")).isFalse();
+        assertThat(parser.accept("[libx264 @ 0x1] profile=high")).isFalse();
+    }
+
+    @Test
+    void withProgressOutputInsertsProgressArgumentsAfterBinary() {
+        assertThat(FfmpegProgressParser.withProgressOutput(List.of("ffmpeg", "-y", "-i", "in.mp4", "out.mp4")))
+                .containsExactly("ffmpeg", "-progress", "pipe:1", "-nostats", "-y", "-i", "in.mp4", "out.mp4");
+    }
+}
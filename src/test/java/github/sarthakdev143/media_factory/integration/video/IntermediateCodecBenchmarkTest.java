@@ -0,0 +1,149 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+import github.sarthakdev143.media_factory.model.MotionType;
+import github.sarthakdev143.media_factory.model.OutputPreset;
+import github.sarthakdev143.media_factory.model.SceneType;
+import github.sarthakdev143.media_factory.model.TransitionType;
+import github.sarthakdev143.media_factory.model.composition.CompositionRenderPlan;
+import github.sarthakdev143.media_factory.model.composition.CompositionScenePlan;
+import github.sarthakdev143.media_factory.model.composition.CompositionTransitionPlan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares scene clip encode time, intermediate disk use and end-to-end render time per intermediate codec.
+ * Needs FFmpeg on the PATH (or FFMPEG_PATH); run with {@code mvn test -Dmedia-factory.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "media-factory.benchmark", matches = "true")
+class IntermediateCodecBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(IntermediateCodecBenchmarkTest.class);
+    private static final int SCENE_COUNT = 6;
+    private static final double SCENE_DURATION_SECONDS = 5.0;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareIntermediateCodecs() throws Exception {
+        Path image = writeGradientImage(tempDir.resolve("scene.png"));
+        Path audio = writeSilence(tempDir.resolve("audio.wav"), SCENE_COUNT * SCENE_DURATION_SECONDS);
+        CompositionRenderPlan plan = benchmarkPlan(image, audio);
+
+        for (IntermediateCodec codec : IntermediateCodec.values()) {
+            FfmpegCompositionRenderer renderer = new FfmpegCompositionRenderer(
+                    SCENE_COUNT,
+                    new SceneClipCache(tempDir.resolve("cache"), 0, new SimpleMeterRegistry()),
+                    CompositionRenderMode.MULTI_PASS,
+                    12,
+                    codec,
+                    "");
+            try {
+                Path sceneDir = Files.createDirectories(tempDir.resolve("scenes-" + codec));
+                long sceneStart = System.nanoTime();
+                long intermediateBytes = 0;
+                for (int index = 0; index < SCENE_COUNT; index++) {
+                    Path sceneClip = sceneDir.resolve("scene-" + index + "." + codec.containerExtension());
+                    run(renderer.buildImageSceneCommand(
+                            plan.scenes().get(index),
+                            image,
+                            plan.outputPreset().width(),
+                            plan.outputPreset().height(),
+                            sceneClip));
+                    intermediateBytes += Files.size(sceneClip);
+                }
+                long sceneMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sceneStart);
+
+                Path output = tempDir.resolve("output-" + codec + ".mp4");
+                long renderStart = System.nanoTime();
+                renderer.renderComposition(plan, output);
+                long renderMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - renderStart);
+
+                assertThat(output).isNotEmptyFile();
+                logger.info(
+                        "codec={} sequentialSceneEncodeMs={} intermediateBytes={} renderCompositionMs={} outputBytes={}",
+                        codec,
+                        sceneMillis,
+                        intermediateBytes,
+                        renderMillis,
+                        Files.size(output));
+            } finally {
+                renderer.shutdown();
+            }
+        }
+    }
+
+    private CompositionRenderPlan benchmarkPlan(Path image, Path audio) {
+        List<CompositionScenePlan> scenes = new ArrayList<>();
+        Map<String, Path> assetPaths = new HashMap<>();
+        double totalDuration = 0.0;
+        for (int index = 0; index < SCENE_COUNT; index++) {
+            boolean crossfade = index > 0 && index % 2 == 0;
+            scenes.add(new CompositionScenePlan(
+                    "scene-" + index,
+                    SceneType.IMAGE,
+                    SCENE_DURATION_SECONDS,
+                    0.0,
+                    index % 2 == 0 ? MotionType.ZOOM_IN : MotionType.PAN_LEFT,
+                    null,
+                    crossfade
+                            ? new CompositionTransitionPlan(TransitionType.CROSSFADE, 0.5)
+                            : new CompositionTransitionPlan(TransitionType.CUT, 0.0),
+                    null));
+            assetPaths.put("scene-" + index, image);
+            totalDuration += SCENE_DURATION_SECONDS - (crossfade ? 0.5 : 0.0);
+        }
+        return new CompositionRenderPlan(OutputPreset.PORTRAIT_9_16, scenes, audio, assetPaths, totalDuration);
+    }
+
+    private Path writeGradientImage(Path target) throws Exception {
+        BufferedImage image = new BufferedImage(1080, 1920, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, 1080, 1920, Color.BLUE));
+        graphics.fillRect(0, 0, 1080, 1920);
+        graphics.dispose();
+        ImageIO.write(image, "png", target.toFile());
+        return target;
+    }
+
+    private Path writeSilence(Path target, double seconds) throws Exception {
+        AudioFormat format = new AudioFormat(44_100f, 16, 2, true, false);
+        long frames = (long) (seconds * format.getFrameRate());
+        byte[] samples = new byte[(int) (frames * format.getFrameSize())];
+        try (AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(samples), format, frames)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, target.toFile());
+        }
+        return target;
+    }
+
+    private void run(List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        process.getInputStream().transferTo(OutputStream.nullOutputStream());
+        assertThat(process.waitFor()).as(String.join(" ", command)).isZero();
+    }
+}
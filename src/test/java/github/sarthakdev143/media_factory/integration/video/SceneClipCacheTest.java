@@ -0,0 +1,97 @@
+package github.sarthakdev143.media_factory.integration.video;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SceneClipCacheTest {
+
+    private static final int CLIP_SIZE_BYTES = 400 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void copyToReturnsStoredClipAndRecordsHitsAndMisses() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SceneClipCache cache = new SceneClipCache(tempDir.resolve("cache"), 1, meterRegistry);
+        Path clip = writeClip("clip.mp4", (byte) 1);
+
+        assertThat(cache.copyTo("key-a", tempDir.resolve("miss.mp4"))).isFalse();
+        cache.store("key-a", clip);
+
+        Path restored = tempDir.resolve("restored.mp4");
+        assertThat(cache.copyTo("key-a", restored)).isTrue();
+        assertThat(Files.readAllBytes(restored)).isEqualTo(Files.readAllBytes(clip));
+        assertThat(meterRegistry.counter("media_factory.render.scene_cache.requests", "result", "hit").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("media_factory.render.scene_cache.requests", "result", "miss").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void storeEvictsLeastRecentlyUsedEntriesOverBudget() throws Exception {
+        SceneClipCache cache = new SceneClipCache(tempDir.resolve("cache"), 1, new SimpleMeterRegistry());
+        cache.store("key-a", writeClip("a.mp4", (byte) 1));
+        cache.store("key-b", writeClip("b.mp4", (byte) 2));
+        assertThat(cache.copyTo("key-a", tempDir.resolve("touch-a.mp4"))).isTrue();
+
+        cache.store("key-c", writeClip("c.mp4", (byte) 3));
+
+        assertThat(cache.copyTo("key-a", tempDir.resolve("a-out.mp4"))).isTrue();
+        assertThat(cache.copyTo("key-b", tempDir.resolve("b-out.mp4"))).isFalse();
+        assertThat(cache.copyTo("key-c", tempDir.resolve("c-out.mp4"))).isTrue();
+        assertThat(cache.totalSizeBytes()).isEqualTo(2L * CLIP_SIZE_BYTES);
+    }
+
+    @Test
+    void existingEntriesAreReloadedFromDisk() throws Exception {
+        Path cacheDirectory = tempDir.resolve("cache");
+        new SceneClipCache(cacheDirectory, 1, new SimpleMeterRegistry())
+                .store("key-a", writeClip("a.mp4", (byte) 1));
+
+        SceneClipCache reloaded = new SceneClipCache(cacheDirectory, 1, new SimpleMeterRegistry());
+
+        assertThat(reloaded.copyTo("key-a", tempDir.resolve("a-out.mp4"))).isTrue();
+    }
+
+    @Test
+    void entriesKeepTheExtensionOfTheStoredFile() throws Exception {
+        Path cacheDirectory = tempDir.resolve("cache");
+        SceneClipCache cache = new SceneClipCache(cacheDirectory, 2, new SimpleMeterRegistry());
+        cache.store("key-a", writeClip("image-0.png", (byte) 1));
+        cache.store("key-a", writeClip("scene-0.mkv", (byte) 2));
+
+        try (var files = Files.list(cacheDirectory)) {
+            assertThat(files.map(file -> file.getFileName().toString())).containsExactlyInAnyOrder("key-a.png", "key-a.mkv");
+        }
+        Path frame = tempDir.resolve("frame.png");
+        assertThat(cache.copyTo("key-a", frame)).isTrue();
+        assertThat(Files.readAllBytes(frame)[0]).isEqualTo((byte) 1);
+        assertThat(cache.copyTo("key-a", tempDir.resolve("clip.mp4"))).isFalse();
+    }
+
+    @Test
+    void keyForChangesWhenAnyInputChanges() {
+        SceneClipCache cache = new SceneClipCache(tempDir.resolve("cache"), 0, new SimpleMeterRegistry());
+        String key = cache.keyFor("hash", "scene", "LANDSCAPE_16_9", List.of("-i", "{input}"));
+
+        assertThat(cache.keyFor("hash", "scene", "LANDSCAPE_16_9", List.of("-i", "{input}"))).isEqualTo(key);
+        assertThat(cache.keyFor("other", "scene", "LANDSCAPE_16_9", List.of("-i", "{input}"))).isNotEqualTo(key);
+        assertThat(cache.keyFor("hash", "scene", "SQUARE_1_1", List.of("-i", "{input}"))).isNotEqualTo(key);
+        assertThat(cache.keyFor("hash", "scene", "LANDSCAPE_16_9", List.of("-r", "30"))).isNotEqualTo(key);
+    }
+
+    private Path writeClip(String fileName, byte fill) throws Exception {
+        byte[] content = new byte[CLIP_SIZE_BYTES];
+        Arrays.fill(content, fill);
+        return Files.write(tempDir.resolve(fileName), content);
+    }
+}
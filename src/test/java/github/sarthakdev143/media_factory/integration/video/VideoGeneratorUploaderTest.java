@@ -1,10 +1,11 @@
 package github.sarthakdev143.media_factory.integration.video;
 
 import com.google.api.client.http.FileContent;
-import com.google.api.client.http.HttpHeaders;
-import com.google.api.client.http.HttpResponseException;
-import com.google.api.client.googleapis.json.GoogleJsonError;
-import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.ThumbnailSetResponse;
 import com.google.api.services.youtube.model.Video;
@@ -19,16 +20,23 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,12 +46,6 @@ class VideoGeneratorUploaderTest {
     @Mock
     private YouTube youtubeService;
 
-    @Mock
-    private YouTube.Videos videos;
-
-    @Mock
-    private YouTube.Videos.Insert videosInsert;
-
     @Mock
     private YouTube.Thumbnails thumbnails;
 
@@ -52,7 +54,10 @@ class VideoGeneratorUploaderTest {
 
     @Test
     void uploadToYouTubeMapsMetadataAndReturnsVideoId() throws Exception {
-        VideoGeneratorUploader uploader = new VideoGeneratorUploader(youtubeService);
+        ScriptedTransport transport = new ScriptedTransport(
+                sessionCreated(),
+                jsonResponse(200, "{\"id\":\"video-abc123\"}"));
+        VideoGeneratorUploader uploader = new VideoGeneratorUploader(youTubeOver(transport));
 
         Path videoFile = Files.createTempFile("media-factory-test-video-", ".mp4");
         Files.write(videoFile, new byte[]{1, 2, 3});
@@ -63,12 +68,6 @@ class VideoGeneratorUploaderTest {
                 "22",
                 Instant.parse("2026-02-20T18:30:00Z"));
 
-        when(youtubeService.videos()).thenReturn(videos);
-        when(videos.insert(anyList(), any(Video.class), any(FileContent.class))).thenReturn(videosInsert);
-        Video apiResponse = new Video();
-        apiResponse.setId("video-abc123");
-        when(videosInsert.execute()).thenReturn(apiResponse);
-
         UploadResult result = uploader.uploadToYouTube(
                 videoFile.toString(),
                 "My Title",
@@ -76,11 +75,11 @@ class VideoGeneratorUploaderTest {
                 options);
 
         assertThat(result.videoId()).isEqualTo("video-abc123");
+        assertThat(transport.requests.get(0).getUrl()).contains("uploadType=resumable").contains("part=snippet,status");
+        assertThat(transport.requests.get(1).getFirstHeaderValue("Content-Range")).isEqualTo("bytes 0-2/3");
 
-        ArgumentCaptor<Video> videoCaptor = ArgumentCaptor.forClass(Video.class);
-        verify(videos).insert(eq(List.of("snippet", "status")), videoCaptor.capture(), any(FileContent.class));
-
-        Video mappedVideo = videoCaptor.getValue();
+        Video mappedVideo = GsonFactory.getDefaultInstance()
+                .fromString(transport.requests.get(0).getContentAsString(), Video.class);
         VideoSnippet snippet = mappedVideo.getSnippet();
         VideoStatus status = mappedVideo.getStatus();
 
@@ -116,7 +115,12 @@ class VideoGeneratorUploaderTest {
 
     @Test
     void uploadToYouTubeRetriesWithoutCategoryWhenYouTubeRejectsCategory() throws Exception {
-        VideoGeneratorUploader uploader = new VideoGeneratorUploader(youtubeService);
+        ScriptedTransport transport = new ScriptedTransport(
+                jsonResponse(400, "{\"error\":{\"code\":400,\"message\":\"Invalid category\","
+                        + "\"errors\":[{\"reason\":\"invalidCategoryId\",\"message\":\"Invalid category\"}]}}"),
+                sessionCreated(),
+                jsonResponse(200, "{\"id\":\"video-fallback-1\"}"));
+        VideoGeneratorUploader uploader = new VideoGeneratorUploader(youTubeOver(transport));
         Path videoFile = Files.createTempFile("media-factory-test-video-", ".mp4");
         Files.write(videoFile, new byte[]{1, 2, 3});
 
@@ -126,30 +130,6 @@ class VideoGeneratorUploaderTest {
                 "999",
                 null);
 
-        when(youtubeService.videos()).thenReturn(videos);
-        when(videos.insert(anyList(), any(Video.class), any(FileContent.class))).thenReturn(videosInsert);
-
-        GoogleJsonError.ErrorInfo errorInfo = new GoogleJsonError.ErrorInfo();
-        errorInfo.setReason("invalidCategoryId");
-        errorInfo.setMessage("Invalid category");
-        GoogleJsonError error = new GoogleJsonError();
-        error.setCode(400);
-        error.setMessage("Invalid category");
-        error.setErrors(List.of(errorInfo));
-
-        HttpResponseException.Builder responseBuilder = new HttpResponseException.Builder(
-                400,
-                "Bad Request",
-                new HttpHeaders());
-        GoogleJsonResponseException invalidCategoryException =
-                new GoogleJsonResponseException(responseBuilder, error);
-
-        Video fallbackResponse = new Video();
-        fallbackResponse.setId("video-fallback-1");
-        when(videosInsert.execute())
-                .thenThrow(invalidCategoryException)
-                .thenReturn(fallbackResponse);
-
         UploadResult result = uploader.uploadToYouTube(
                 videoFile.toString(),
                 "Title",
@@ -159,11 +139,200 @@ class VideoGeneratorUploaderTest {
         assertThat(result.videoId()).isEqualTo("video-fallback-1");
         assertThat(result.warningMessage()).contains("Invalid categoryId was ignored");
 
-        ArgumentCaptor<Video> requestCaptor = ArgumentCaptor.forClass(Video.class);
-        verify(videos, times(2)).insert(eq(List.of("snippet", "status")), requestCaptor.capture(), any(FileContent.class));
-        assertThat(requestCaptor.getAllValues().get(0).getSnippet().getCategoryId()).isEqualTo("999");
-        assertThat(requestCaptor.getAllValues().get(1).getSnippet().getCategoryId()).isNull();
+        Video firstRequest = GsonFactory.getDefaultInstance()
+                .fromString(transport.requests.get(0).getContentAsString(), Video.class);
+        Video fallbackRequest = GsonFactory.getDefaultInstance()
+                .fromString(transport.requests.get(1).getContentAsString(), Video.class);
+        assertThat(firstRequest.getSnippet().getCategoryId()).isEqualTo("999");
+        assertThat(fallbackRequest.getSnippet().getCategoryId()).isNull();
+        assertThat(transport.requests).extracting(MockLowLevelHttpRequest::getUrl)
+                .filteredOn(url -> url.equals("https://upload.example/session-1"))
+                .hasSize(1);
+
+        Files.deleteIfExists(videoFile);
+    }
+
+    @Test
+    void uploadToYouTubeDropsCategoryWithAMetadataUpdateWhenItIsRejectedAfterBytesWereSent() throws Exception {
+        ScriptedTransport transport = new ScriptedTransport(
+                sessionCreated(),
+                jsonResponse(400, "{\"error\":{\"code\":400,\"message\":\"Invalid category\","
+                        + "\"errors\":[{\"reason\":\"invalidCategoryId\",\"message\":\"Invalid category\"}]}}"),
+                jsonResponse(201, "{\"id\":\"video-late-reject\"}"),
+                jsonResponse(200, "{\"id\":\"video-late-reject\"}"));
+        VideoGeneratorUploader uploader = new VideoGeneratorUploader(youTubeOver(transport));
+        Path videoFile = Files.createTempFile("media-factory-test-video-", ".mp4");
+        Files.write(videoFile, new byte[]{1, 2, 3});
+
+        PublishOptions options = new PublishOptions(PrivacyStatus.PRIVATE, List.of("music"), "999", null);
+
+        UploadResult result = uploader.uploadToYouTube(videoFile.toString(), "Title", "Description", options);
+
+        assertThat(result.videoId()).isEqualTo("video-late-reject");
+        assertThat(result.warningMessage()).contains("Invalid categoryId was ignored");
+        assertThat(transport.requests).hasSize(4);
+        assertThat(transport.requests.subList(1, 3))
+                .extracting(request -> request.getFirstHeaderValue("Content-Range"))
+                .containsExactly("bytes 0-2/3", "bytes */3");
+        MockLowLevelHttpRequest update = transport.requests.get(3);
+        assertThat(update.getUrl()).doesNotContain("/upload/").contains("/videos?part=snippet");
+        Video updatedVideo = GsonFactory.getDefaultInstance().fromString(update.getContentAsString(), Video.class);
+        assertThat(updatedVideo.getId()).isEqualTo("video-late-reject");
+        assertThat(updatedVideo.getSnippet().getTitle()).isEqualTo("Title");
+        assertThat(updatedVideo.getSnippet().getTags()).containsExactly("music");
+        assertThat(updatedVideo.getSnippet().getCategoryId()).isNull();
+
+        Files.deleteIfExists(videoFile);
+    }
+
+    @Test
+    void uploadToYouTubeResumesFromLastAcknowledgedChunkAfterServerError() throws Exception {
+        int chunk = ResumableUploadSettings.CHUNK_GRANULARITY_BYTES;
+        int size = chunk * 2 + 1000;
+        ScriptedTransport transport = new ScriptedTransport(
+                sessionCreated(),
+                resumeIncomplete("bytes=0-" + (chunk - 1)),
+                jsonResponse(503, "{\"error\":{\"code\":503,\"message\":\"Backend Error\"}}"),
+                resumeIncomplete("bytes=0-" + (chunk - 1)),
+                resumeIncomplete("bytes=0-" + (2 * chunk - 1)),
+                jsonResponse(201, "{\"id\":\"video-resumed\"}"));
+        List<Long> sleeps = new ArrayList<>();
+        VideoGeneratorUploader uploader = new VideoGeneratorUploader(
+                youTubeOver(transport),
+                new ResumableUploadSettings(chunk, 3, Duration.ofMillis(100), Duration.ofSeconds(1)),
+                sleeps::add);
+        Path videoFile = Files.createTempFile("media-factory-test-video-", ".mp4");
+        Files.write(videoFile, new byte[size]);
+
+        List<Long> acknowledged = new ArrayList<>();
+        UploadResult result = uploader.uploadToYouTube(
+                videoFile.toString(),
+                "Title",
+                "Description",
+                null,
+                (bytesSent, totalBytes) -> acknowledged.add(bytesSent));
+
+        assertThat(result.videoId()).isEqualTo("video-resumed");
+        assertThat(acknowledged).containsExactly((long) chunk, (long) chunk, 2L * chunk, (long) size);
+        assertThat(transport.requests.subList(1, 6))
+                .extracting(request -> request.getFirstHeaderValue("Content-Range"))
+                .containsExactly(
+                        "bytes 0-" + (chunk - 1) + "/" + size,
+                        "bytes " + chunk + "-" + (2 * chunk - 1) + "/" + size,
+                        "bytes */" + size,
+                        "bytes " + chunk + "-" + (2 * chunk - 1) + "/" + size,
+                        "bytes " + 2 * chunk + "-" + (size - 1) + "/" + size);
+        assertThat(sleeps).singleElement().satisfies(delay -> assertThat(delay).isBetween(50L, 100L));
+
+        Files.deleteIfExists(videoFile);
+    }
+
+    @Test
+    void uploadToYouTubeFailsWithoutRetryingWhenTheLocalFileCannotBeRead() throws Exception {
+        int chunk = ResumableUploadSettings.CHUNK_GRANULARITY_BYTES;
+        ScriptedTransport transport = new ScriptedTransport(
+                sessionCreated(),
+                resumeIncomplete("bytes=0-" + (chunk - 1)));
+        List<Long> sleeps = new ArrayList<>();
+        VideoGeneratorUploader uploader = new VideoGeneratorUploader(
+                youTubeOver(transport),
+                new ResumableUploadSettings(chunk, 3, Duration.ofMillis(100), Duration.ofSeconds(1)),
+                sleeps::add);
+        Path videoFile = Files.createTempFile("media-factory-test-video-", ".mp4");
+        Files.write(videoFile, new byte[chunk * 2]);
+
+        assertThatThrownBy(() -> uploader.uploadToYouTube(
+                videoFile.toString(),
+                "Title",
+                "Description",
+                null,
+                (bytesSent, totalBytes) -> {
+                    try (FileChannel channel = FileChannel.open(videoFile, StandardOpenOption.WRITE)) {
+                        channel.truncate(chunk);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("shrank");
+        assertThat(sleeps).isEmpty();
+        assertThat(transport.requests).hasSize(2);
 
         Files.deleteIfExists(videoFile);
     }
+
+    @Test
+    void uploadToYouTubeStartsANewSessionWhenTheSessionExpires() throws Exception {
+        int chunk = ResumableUploadSettings.CHUNK_GRANULARITY_BYTES;
+        int size = chunk + 10;
+        ScriptedTransport transport = new ScriptedTransport(
+                sessionCreated(),
+                jsonResponse(404, "{\"error\":{\"code\":404,\"message\":\"Not Found\"}}"),
+                sessionCreated(),
+                resumeIncomplete("bytes=0-" + (chunk - 1)),
+                jsonResponse(201, "{\"id\":\"video-restarted\"}"));
+        VideoGeneratorUploader uploader = new VideoGeneratorUploader(
+                youTubeOver(transport),
+                new ResumableUploadSettings(chunk, 3, Duration.ofMillis(100), Duration.ofSeconds(1)),
+                delay -> { });
+        Path videoFile = Files.createTempFile("media-factory-test-video-", ".mp4");
+        Files.write(videoFile, new byte[size]);
+
+        UploadResult result = uploader.uploadToYouTube(videoFile.toString(), "Title", "Description", null);
+
+        assertThat(result.videoId()).isEqualTo("video-restarted");
+        assertThat(transport.requests)
+                .extracting(request -> request.getFirstHeaderValue("Content-Range"))
+                .containsExactly(
+                        null,
+                        "bytes 0-" + (chunk - 1) + "/" + size,
+                        null,
+                        "bytes 0-" + (chunk - 1) + "/" + size,
+                        "bytes " + chunk + "-" + (size - 1) + "/" + size);
+        assertThat(videoFile.resolveSibling(videoFile.getFileName() + ".upload-session")).doesNotExist();
+
+        Files.deleteIfExists(videoFile);
+    }
+
+    private YouTube youTubeOver(ScriptedTransport transport) {
+        return new YouTube.Builder(transport, GsonFactory.getDefaultInstance(), null)
+                .setApplicationName("media-factory-test")
+                .build();
+    }
+
+    private static MockLowLevelHttpResponse sessionCreated() {
+        return new MockLowLevelHttpResponse()
+                .setStatusCode(200)
+                .addHeader("Location", "https://upload.example/session-1");
+    }
+
+    private static MockLowLevelHttpResponse resumeIncomplete(String range) {
+        return new MockLowLevelHttpResponse()
+                .setStatusCode(308)
+                .addHeader("Range", range);
+    }
+
+    private static MockLowLevelHttpResponse jsonResponse(int status, String json) {
+        return new MockLowLevelHttpResponse()
+                .setStatusCode(status)
+                .setContentType("application/json; charset=UTF-8")
+                .setContent(json);
+    }
+
+    private static final class ScriptedTransport extends MockHttpTransport {
+
+        private final Deque<MockLowLevelHttpResponse> responses;
+        private final List<MockLowLevelHttpRequest> requests = new ArrayList<>();
+
+        private ScriptedTransport(MockLowLevelHttpResponse... responses) {
+            this.responses = new ArrayDeque<>(List.of(responses));
+        }
+
+        @Override
+        public LowLevelHttpRequest buildRequest(String method, String url) {
+            MockLowLevelHttpRequest request = new MockLowLevelHttpRequest(url).setResponse(responses.removeFirst());
+            requests.add(request);
+            return request;
+        }
+    }
 }
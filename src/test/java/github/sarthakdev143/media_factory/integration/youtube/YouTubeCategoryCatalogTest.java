@@ -0,0 +1,202 @@
+package github.sarthakdev143.media_factory.integration.youtube;
+
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.youtube.YouTube;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class YouTubeCategoryCatalogTest {
+
+    private static final String CATEGORIES_JSON = "{\"items\":["
+            + "{\"id\":\"10\",\"snippet\":{\"title\":\"Music\",\"assignable\":true}},"
+            + "{\"id\":\"22\",\"snippet\":{\"title\":\"People & Blogs\",\"assignable\":true}},"
+            + "{\"id\":\"18\",\"snippet\":{\"title\":\"Short Movies\",\"assignable\":false}}]}";
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void flagsOnlyCategoriesMissingFromTheAssignableList() {
+        CategoryTransport transport = new CategoryTransport(200, CATEGORIES_JSON);
+        YouTubeCategoryCatalog catalog = catalogOver(transport);
+
+        assertThat(catalog.isKnownInvalid("10")).isFalse();
+        assertThat(catalog.isKnownInvalid("22")).isFalse();
+        assertThat(catalog.isKnownInvalid("18")).isTrue();
+        assertThat(catalog.isKnownInvalid("999")).isTrue();
+        assertThat(catalog.isKnownInvalid(null)).isFalse();
+        assertThat(transport.urls).singleElement().asString().contains("regionCode=US");
+    }
+
+    @Test
+    void refetchesOncePerRegionAfterTheRefreshInterval() {
+        CategoryTransport transport = new CategoryTransport(200, CATEGORIES_JSON);
+        YouTubeCategoryCatalog catalog = catalogOver(transport);
+
+        catalog.isKnownInvalid("10");
+        catalog.isKnownInvalid("22");
+        catalog.isKnownInvalid("gb", "10");
+        assertThat(transport.urls).hasSize(2);
+
+        clock.advance(Duration.ofHours(13));
+        catalog.isKnownInvalid("10");
+        assertThat(transport.urls).hasSize(3);
+    }
+
+    @Test
+    void treatsEveryCategoryAsValidWhileTheCatalogCannotBeFetched() {
+        CategoryTransport transport = new CategoryTransport(500, "{\"error\":{\"code\":500,\"message\":\"Backend Error\"}}");
+        YouTubeCategoryCatalog catalog = catalogOver(transport);
+
+        assertThat(catalog.isKnownInvalid("999")).isFalse();
+        assertThat(catalog.isKnownInvalid("998")).isFalse();
+        assertThat(transport.urls).hasSize(1);
+    }
+
+    @Test
+    void keepsThePreviousListAndRetriesAfterAMinuteWhenARefreshFails() {
+        CategoryTransport transport = new CategoryTransport(200, CATEGORIES_JSON);
+        YouTubeCategoryCatalog catalog = catalogOver(transport);
+        assertThat(catalog.isKnownInvalid("999")).isTrue();
+
+        transport.respondWith(503, "{\"error\":{\"code\":503,\"message\":\"Backend Error\"}}");
+        clock.advance(Duration.ofHours(13));
+        assertThat(catalog.isKnownInvalid("999")).isTrue();
+        assertThat(catalog.isKnownInvalid("10")).isFalse();
+        assertThat(transport.urls).hasSize(2);
+
+        clock.advance(Duration.ofSeconds(30));
+        catalog.isKnownInvalid("999");
+        assertThat(transport.urls).hasSize(2);
+
+        transport.respondWith(200, CATEGORIES_JSON);
+        clock.advance(Duration.ofSeconds(31));
+        catalog.isKnownInvalid("999");
+        assertThat(transport.urls).hasSize(3);
+    }
+
+    @Test
+    void waitsForTheNextRefreshWhenTheTokenLacksTheReadScope() {
+        CategoryTransport transport = new CategoryTransport(403, "{\"error\":{\"code\":403,"
+                + "\"message\":\"Request had insufficient authentication scopes.\","
+                + "\"errors\":[{\"reason\":\"insufficientPermissions\"}]}}");
+        YouTubeCategoryCatalog catalog = catalogOver(transport);
+
+        assertThat(catalog.isKnownInvalid("999")).isFalse();
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(catalog.isKnownInvalid("999")).isFalse();
+        assertThat(transport.urls).hasSize(1);
+
+        clock.advance(Duration.ofHours(12));
+        catalog.isKnownInvalid("999");
+        assertThat(transport.urls).hasSize(2);
+    }
+
+    @Test
+    void jobsUseTheCachedListWhileAnotherJobRefreshesTheRegion() throws Exception {
+        CategoryTransport transport = new CategoryTransport(200, CATEGORIES_JSON);
+        YouTubeCategoryCatalog catalog = catalogOver(transport);
+        assertThat(catalog.isKnownInvalid("999")).isTrue();
+        clock.advance(Duration.ofHours(13));
+        CountDownLatch release = transport.blockRequests();
+
+        CompletableFuture<Boolean> refreshing = CompletableFuture.supplyAsync(() -> catalog.isKnownInvalid("999"));
+        assertThat(transport.requestStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(catalog.isKnownInvalid("999")).isTrue();
+        assertThat(catalog.isKnownInvalid("10")).isFalse();
+        assertThat(refreshing).isNotDone();
+
+        release.countDown();
+        assertThat(refreshing.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(transport.urls).hasSize(2);
+    }
+
+    private YouTubeCategoryCatalog catalogOver(CategoryTransport transport) {
+        YouTube youTube = new YouTube.Builder(transport, GsonFactory.getDefaultInstance(), null)
+                .setApplicationName("media-factory-test")
+                .build();
+        return new YouTubeCategoryCatalog(() -> youTube, "us", Duration.ofHours(12), clock);
+    }
+
+    private static final class CategoryTransport extends MockHttpTransport {
+
+        private int status;
+        private String body;
+        private final List<String> urls = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch requestStarted = new CountDownLatch(1);
+        private volatile CountDownLatch release;
+
+        private CategoryTransport(int status, String body) {
+            respondWith(status, body);
+        }
+
+        private void respondWith(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        private CountDownLatch blockRequests() {
+            release = new CountDownLatch(1);
+            return release;
+        }
+
+        @Override
+        public LowLevelHttpRequest buildRequest(String method, String url) {
+            urls.add(url);
+            CountDownLatch gate = release;
+            if (gate != null) {
+                requestStarted.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new MockLowLevelHttpRequest(url).setResponse(new MockLowLevelHttpResponse()
+                    .setStatusCode(status)
+                    .setContentType("application/json; charset=UTF-8")
+                    .setContent(body));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-03-01T00:00:00Z");
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
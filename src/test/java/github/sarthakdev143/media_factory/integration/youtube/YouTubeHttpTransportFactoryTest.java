@@ -0,0 +1,66 @@
+package github.sarthakdev143.media_factory.integration.youtube;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class YouTubeHttpTransportFactoryTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void sequentialRequestsReuseOnePooledConnection() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ApacheHttpTransport transport = YouTubeHttpTransportFactory.create(4, Duration.ofSeconds(60), meterRegistry);
+        GenericUrl url = new GenericUrl("http://localhost:" + server.getAddress().getPort() + "/videos");
+
+        try {
+            for (int request = 0; request < 3; request++) {
+                HttpResponse response = transport.createRequestFactory().buildGetRequest(url).execute();
+                assertThat(response.parseAsString()).isEqualTo("ok");
+            }
+        } finally {
+            transport.shutdown();
+        }
+
+        assertThat(meterRegistry.get("media_factory.youtube.http.requests").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("media_factory.youtube.http.connections.created").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsNonPositiveConnectionLimit() {
+        assertThatThrownBy(() -> YouTubeHttpTransportFactory.create(0, Duration.ofSeconds(60), new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,150 @@
+package github.sarthakdev143.media_factory.repository;
+
+import github.sarthakdev143.media_factory.model.PrivacyStatus;
+import github.sarthakdev143.media_factory.model.VideoJobProgress;
+import github.sarthakdev143.media_factory.model.VideoJobState;
+import github.sarthakdev143.media_factory.model.VideoJobStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileVideoJobRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void updatesAreReadBackAndSurviveRestart() throws Exception {
+        FileVideoJobRepository repository = new FileVideoJobRepository(tempDir, Duration.ofDays(7));
+        repository.save(status("job-1", VideoJobState.QUEUED, Instant.now()));
+        repository.save(status("job-2", VideoJobState.QUEUED, Instant.now()));
+        repository.update("job-1", current -> withState(current, VideoJobState.COMPLETED));
+        repository.update("job-2", current -> withState(current, VideoJobState.PROCESSING));
+
+        assertThat(repository.findById("job-1")).map(VideoJobStatus::state).contains(VideoJobState.COMPLETED);
+        assertThat(repository.update("missing", current -> current)).isEmpty();
+        repository.close();
+
+        FileVideoJobRepository reloaded = new FileVideoJobRepository(tempDir, Duration.ofDays(7));
+        assertThat(reloaded.findById("job-1")).contains(withState(
+                status("job-1", VideoJobState.QUEUED, reloaded.findById("job-1").orElseThrow().updatedAt()),
+                VideoJobState.COMPLETED));
+        assertThat(reloaded.findUnfinished()).extracting(VideoJobStatus::jobId).containsExactly("job-2");
+        reloaded.close();
+    }
+
+    @Test
+    void compactionDropsSupersededRecordsAndExpiredFinishedJobs() throws Exception {
+        FileVideoJobRepository repository = new FileVideoJobRepository(tempDir, Duration.ofDays(7), 1, Runnable::run);
+        Instant expired = Instant.now().minus(Duration.ofDays(30));
+        repository.save(status("old-done", VideoJobState.COMPLETED, expired));
+        repository.save(status("old-running", VideoJobState.PROCESSING, expired));
+        repository.save(status("recent", VideoJobState.QUEUED, Instant.now()));
+        for (int update = 0; update < 20; update++) {
+            repository.update("recent", current -> current);
+        }
+
+        assertThat(repository.findById("old-done")).isEmpty();
+        assertThat(repository.findById("old-running")).isPresent();
+        assertThat(repository.findById("recent")).isPresent();
+        assertThat(Files.readAllLines(tempDir.resolve("jobs.log")).size()).isLessThanOrEqualTo(4);
+        repository.close();
+    }
+
+    @Test
+    void compactionRunsInTheBackgroundAndKeepsRecordsAppendedMeanwhile() throws Exception {
+        List<Runnable> compactions = new ArrayList<>();
+        FileVideoJobRepository repository = new FileVideoJobRepository(tempDir, Duration.ofDays(7), 1, compactions::add);
+        Instant expired = Instant.now().minus(Duration.ofDays(30));
+        repository.save(status("old-done", VideoJobState.COMPLETED, expired));
+        repository.save(status("recent", VideoJobState.QUEUED, Instant.now()));
+        for (int update = 0; update < 3; update++) {
+            repository.update("recent", current -> current);
+        }
+        assertThat(compactions).hasSize(1);
+
+        repository.update("recent", current -> withState(current, VideoJobState.PROCESSING));
+        repository.save(status("late", VideoJobState.QUEUED, Instant.now()));
+        assertThat(compactions).hasSize(1);
+        long sizeBeforeCompaction = repository.logSizeBytes();
+
+        compactions.get(0).run();
+
+        assertThat(repository.logSizeBytes()).isLessThan(sizeBeforeCompaction);
+        assertThat(repository.findById("old-done")).isEmpty();
+        assertThat(repository.findById("recent")).map(VideoJobStatus::state).contains(VideoJobState.PROCESSING);
+        assertThat(repository.findUnfinished()).extracting(VideoJobStatus::jobId)
+                .containsExactlyInAnyOrder("recent", "late");
+        assertThat(repository.countByState(VideoJobState.COMPLETED)).isZero();
+        repository.close();
+
+        FileVideoJobRepository reloaded = new FileVideoJobRepository(tempDir, Duration.ofDays(7));
+        assertThat(reloaded.findById("recent")).map(VideoJobStatus::state).contains(VideoJobState.PROCESSING);
+        assertThat(reloaded.findById("late")).isPresent();
+        assertThat(reloaded.findById("old-done")).isEmpty();
+        reloaded.close();
+    }
+
+    @Test
+    void truncatesIncompleteTrailingRecordOnLoad() throws Exception {
+        FileVideoJobRepository repository = new FileVideoJobRepository(tempDir, Duration.ofDays(7));
+        repository.save(status("job-1", VideoJobState.QUEUED, Instant.now()));
+        long validSize = repository.logSizeBytes();
+        repository.close();
+        Files.writeString(tempDir.resolve("jobs.log"), "{\"jobId\":\"job-2\",\"sta", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        FileVideoJobRepository reloaded = new FileVideoJobRepository(tempDir, Duration.ofDays(7));
+        assertThat(reloaded.logSizeBytes()).isEqualTo(validSize);
+        assertThat(reloaded.findById("job-1")).isPresent();
+        assertThat(reloaded.findById("job-2")).isEmpty();
+
+        reloaded.save(status("job-3", VideoJobState.QUEUED, Instant.now()));
+        assertThat(reloaded.findById("job-3")).isPresent();
+        reloaded.close();
+    }
+
+    private VideoJobStatus status(String jobId, VideoJobState state, Instant updatedAt) {
+        return new VideoJobStatus(
+                jobId,
+                state,
+                "message",
+                updatedAt,
+                updatedAt,
+                PrivacyStatus.PRIVATE,
+                List.of("tag"),
+                "10",
+                null,
+                null,
+                null,
+                null,
+                new VideoJobProgress("render", 12.5, 1.5, 30L));
+    }
+
+    private VideoJobStatus withState(VideoJobStatus current, VideoJobState state) {
+        return new VideoJobStatus(
+                current.jobId(),
+                state,
+                current.message(),
+                current.createdAt(),
+                current.updatedAt(),
+                current.privacyStatus(),
+                current.tags(),
+                current.categoryId(),
+                current.publishAt(),
+                current.youtubeVideoId(),
+                current.youtubeVideoUrl(),
+                current.warningMessage(),
+                current.progress());
+    }
+}
@@ -0,0 +1,98 @@
+package github.sarthakdev143.media_factory.repository;
+
+import github.sarthakdev143.media_factory.model.PrivacyStatus;
+import github.sarthakdev143.media_factory.model.VideoJobState;
+import github.sarthakdev143.media_factory.model.VideoJobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryVideoJobRepositoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void finishedJobsExpireAfterTtlButUnfinishedJobsDoNot() {
+        InMemoryVideoJobRepository repository = new InMemoryVideoJobRepository(Duration.ofMinutes(10), 100, meterRegistry);
+        Instant longAgo = Instant.now().minus(Duration.ofHours(1));
+        repository.save(status("done", VideoJobState.COMPLETED, longAgo));
+        repository.save(status("running", VideoJobState.PROCESSING, longAgo));
+        repository.save(status("fresh", VideoJobState.FAILED, Instant.now()));
+
+        assertThat(repository.findById("done")).isEmpty();
+        assertThat(repository.findById("running")).isPresent();
+        assertThat(repository.findById("fresh")).isPresent();
+        assertThat(meterRegistry.counter("media_factory.jobs.cache.evictions", "reason", "ttl").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("media_factory.jobs.cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void capacityEvictionRemovesOldestFinishedJobFirst() {
+        InMemoryVideoJobRepository repository = new InMemoryVideoJobRepository(Duration.ofHours(1), 2, meterRegistry);
+        repository.save(status("queued", VideoJobState.QUEUED, Instant.now()));
+        repository.save(status("first", VideoJobState.QUEUED, Instant.now()));
+        repository.update("first", current -> withState(current, VideoJobState.COMPLETED));
+        repository.save(status("second", VideoJobState.QUEUED, Instant.now()));
+
+        assertThat(repository.findById("first")).isEmpty();
+        assertThat(repository.findById("queued")).isPresent();
+        assertThat(repository.findById("second")).isPresent();
+        assertThat(meterRegistry.counter("media_factory.jobs.cache.evictions", "reason", "capacity").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void capacityEvictionNeverRemovesUnfinishedJobs() {
+        InMemoryVideoJobRepository repository = new InMemoryVideoJobRepository(Duration.ofHours(1), 2, meterRegistry);
+        repository.save(status("queued", VideoJobState.QUEUED, Instant.now()));
+        repository.save(status("processing", VideoJobState.PROCESSING, Instant.now()));
+        repository.save(status("latest", VideoJobState.QUEUED, Instant.now()));
+
+        assertThat(repository.findUnfinished())
+                .extracting(VideoJobStatus::jobId)
+                .containsExactlyInAnyOrder("queued", "processing", "latest");
+        assertThat(meterRegistry.counter("media_factory.jobs.cache.evictions", "reason", "capacity").count()).isZero();
+
+        repository.update("queued", current -> withState(current, VideoJobState.COMPLETED));
+        repository.update("processing", current -> withState(current, VideoJobState.FAILED));
+        repository.save(status("next", VideoJobState.QUEUED, Instant.now()));
+
+        assertThat(repository.findById("queued")).isEmpty();
+        assertThat(repository.findById("processing")).isEmpty();
+        assertThat(repository.findById("latest")).isPresent();
+        assertThat(repository.findById("next")).isPresent();
+        assertThat(meterRegistry.counter("media_factory.jobs.cache.evictions", "reason", "capacity").count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void countByStateTracksTransitions() {
+        InMemoryVideoJobRepository repository = new InMemoryVideoJobRepository(Duration.ofHours(1), 100, meterRegistry);
+        repository.save(status("a", VideoJobState.QUEUED, Instant.now()));
+        repository.save(status("b", VideoJobState.QUEUED, Instant.now()));
+        repository.update("a", current -> withState(current, VideoJobState.PROCESSING));
+
+        assertThat(repository.countByState(VideoJobState.QUEUED)).isEqualTo(1);
+        assertThat(repository.countByState(VideoJobState.PROCESSING)).isEqualTo(1);
+        assertThat(repository.countByState(VideoJobState.COMPLETED)).isZero();
+        assertThat(repository.findUnfinished()).extracting(VideoJobStatus::jobId).containsExactlyInAnyOrder("a", "b");
+    }
+
+    private VideoJobStatus status(String jobId, VideoJobState state, Instant updatedAt) {
+        return new VideoJobStatus(
+                jobId, state, "message", updatedAt, updatedAt,
+                PrivacyStatus.PRIVATE, List.of(), null, null, null, null, null, null);
+    }
+
+    private VideoJobStatus withState(VideoJobStatus current, VideoJobState state) {
+        return new VideoJobStatus(
+                current.jobId(), state, current.message(), current.createdAt(), Instant.now(),
+                current.privacyStatus(), current.tags(), current.categoryId(), current.publishAt(),
+                current.youtubeVideoId(), current.youtubeVideoUrl(), current.warningMessage(), current.progress());
+    }
+}
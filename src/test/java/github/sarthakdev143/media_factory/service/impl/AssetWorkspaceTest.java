@@ -0,0 +1,51 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssetWorkspaceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AssetWorkspace workspace =
+            new AssetWorkspace(new MultipartIngestor(DataSize.ofMegabytes(64), meterRegistry));
+    private Path claimedFile;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (claimedFile != null) {
+            Files.deleteIfExists(claimedFile);
+        }
+    }
+
+    @Test
+    void claimReusesTheFileWrittenForValidation() throws Exception {
+        MockMultipartFile part = new MockMultipartFile("asset.scene-1", "clip.mp4", "video/mp4", new byte[]{1, 2, 3});
+
+        Path probed = workspace.materialize(part, "media-factory-test-asset-", ".mp4").path();
+        claimedFile = workspace.claim(part, "media-factory-test-asset-", ".mp4").path();
+
+        assertThat(claimedFile).isEqualTo(probed);
+        assertThat(meterRegistry.get("media_factory.ingest.parts").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void closeDeletesOnlyFilesNoJobClaimed() throws Exception {
+        MockMultipartFile rejected = new MockMultipartFile("asset.scene-1", "a.mp4", "video/mp4", new byte[]{1});
+        MockMultipartFile accepted = new MockMultipartFile("asset.scene-2", "b.mp4", "video/mp4", new byte[]{2});
+        Path rejectedFile = workspace.materialize(rejected, "media-factory-test-asset-", ".mp4").path();
+        claimedFile = workspace.claim(accepted, "media-factory-test-asset-", ".mp4").path();
+
+        workspace.close();
+
+        assertThat(rejectedFile).doesNotExist();
+        assertThat(claimedFile).exists();
+    }
+}
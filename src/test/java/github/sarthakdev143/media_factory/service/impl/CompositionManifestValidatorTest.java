@@ -11,25 +11,40 @@ import github.sarthakdev143.media_factory.model.OutputPreset;
 import github.sarthakdev143.media_factory.model.SceneType;
 import github.sarthakdev143.media_factory.model.TransitionType;
 import github.sarthakdev143.media_factory.model.VisualFilterType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class CompositionManifestValidatorTest {
 
+    private final VideoProbeCache probeCache = new VideoProbeCache(16, new SimpleMeterRegistry());
     private CompositionManifestValidator validator;
 
     @BeforeEach
     void setUp() {
-        validator = new CompositionManifestValidator();
+        validator = new CompositionManifestValidator(assetWorkspace(), probeCache, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validator.shutdown();
     }
 
     @Test
@@ -195,6 +210,144 @@ class CompositionManifestValidatorTest {
                 .hasMessageContaining("visualEdit.overlay.hexColor must match #RRGGBB");
     }
 
+    @Test
+    void normalizeAndValidateProbesVideoAssetsInParallelAndKeepsSceneOrder() {
+        Set<String> probeThreads = ConcurrentHashMap.newKeySet();
+        CompositionManifestValidator parallelValidator = new CompositionManifestValidator(
+                assetWorkspace(),
+                probeCache,
+                4,
+                (asset, sceneIndex) -> {
+                    probeThreads.add(Thread.currentThread().getName());
+                    sleep(Duration.ofMillis(300));
+                    return 10.0 + sceneIndex;
+                });
+        try {
+            long startNanos = System.nanoTime();
+            CompositionManifestRequest normalized = parallelValidator.normalizeAndValidate(
+                    videoManifest(4),
+                    videoAssets(4));
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+            assertThat(normalized.scenes())
+                    .extracting(CompositionSceneRequest::clipDurationSec)
+                    .containsExactly(10.0, 11.0, 12.0, 13.0);
+            assertThat(elapsed).isLessThan(Duration.ofMillis(900));
+            assertThat(probeThreads).allMatch(name -> name.startsWith("asset-probe-"));
+        } finally {
+            parallelValidator.shutdown();
+        }
+    }
+
+    @Test
+    void normalizeAndValidateReportsTheFailingProbeBySceneIndex() {
+        CompositionManifestValidator parallelValidator = new CompositionManifestValidator(
+                assetWorkspace(),
+                probeCache,
+                4,
+                (asset, sceneIndex) -> {
+                    if (sceneIndex == 2) {
+                        throw new IllegalArgumentException(
+                                "Unable to determine duration for video asset in manifest.scenes[2].");
+                    }
+                    return 10.0;
+                });
+        try {
+            assertThatThrownBy(() -> parallelValidator.normalizeAndValidate(videoManifest(4), videoAssets(4)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Unable to determine duration for video asset in manifest.scenes[2].");
+        } finally {
+            parallelValidator.shutdown();
+        }
+    }
+
+    @Test
+    void normalizeAndValidateUsesCachedProbeWithoutStartingFfmpeg() throws Exception {
+        Map<String, MultipartFile> assets = videoAssets(1);
+        String contentHash = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(assets.get("clip-0").getBytes()));
+        probeCache.put(contentHash, new VideoProbeCache.ProbeResult(12.5, 1920, 1080, 29.97, "h264"));
+
+        CompositionManifestRequest normalized = validator.normalizeAndValidate(videoManifest(1), assets);
+
+        assertThat(normalized.scenes().get(0).clipDurationSec()).isEqualTo(12.5);
+    }
+
+    @Test
+    void normalizeAndValidateReadsMp4DurationFromTheContainerHeader() {
+        Map<String, MultipartFile> assets = Map.of("clip-0", new MockMultipartFile(
+                "asset.clip-0",
+                "clip-0.mp4",
+                "video/mp4",
+                ContainerHeaderReaderTest.mp4(7_250)));
+
+        CompositionManifestRequest normalized = validator.normalizeAndValidate(videoManifest(1), assets);
+
+        assertThat(normalized.scenes().get(0).clipDurationSec()).isEqualTo(7.25);
+        assertThat(probeCache.entryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void probeOutputParserReadsDurationAndFirstVideoStreamLineByLine() {
+        CompositionManifestValidator.ProbeOutputParser parser = new CompositionManifestValidator.ProbeOutputParser();
+        List.of(
+                "Input #0, mov,mp4,m4a,3gp,3g2,mj2, from 'clip.mp4':",
+                "  Duration: 00:01:02.50, start: 0.000000, bitrate: 5120 kb/s",
+                "  Stream #0:0[0x1](und): Audio: aac (LC) (mp4a / 0x6134706D), 48000 Hz, stereo, fltp, 128 kb/s",
+                "  Stream #0:1[0x2](und): Video: h264 (High) (avc1 / 0x31637661), yuv420p(tv, bt709, progressive), "
+                        + "1920x1080 [SAR 1:1 DAR 16:9], 4979 kb/s, 29.97 fps, 29.97 tbr, 30k tbn (default)",
+                "  Stream #0:2[0x3](und): Video: mjpeg, yuvj420p, 320x180, 90k tbn (attached pic)",
+                "At least one output file must be specified").forEach(parser::accept);
+
+        assertThat(parser.result()).isEqualTo(new VideoProbeCache.ProbeResult(62.5, 1920, 1080, 29.97, "h264"));
+
+        CompositionManifestValidator.ProbeOutputParser noDuration = new CompositionManifestValidator.ProbeOutputParser();
+        noDuration.accept("clip.mp4: Invalid data found when processing input");
+        assertThat(noDuration.result()).isNull();
+    }
+
+    private static AssetWorkspace assetWorkspace() {
+        return new AssetWorkspace(new MultipartIngestor(DataSize.ofMegabytes(64), new SimpleMeterRegistry()));
+    }
+
+    private static CompositionManifestRequest videoManifest(int sceneCount) {
+        List<CompositionSceneRequest> scenes = new ArrayList<>();
+        for (int index = 0; index < sceneCount; index++) {
+            scenes.add(new CompositionSceneRequest(
+                    "clip-" + index,
+                    SceneType.VIDEO,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null));
+        }
+        return new CompositionManifestRequest(OutputPreset.LANDSCAPE_16_9, scenes);
+    }
+
+    private static Map<String, MultipartFile> videoAssets(int sceneCount) {
+        Map<String, MultipartFile> assets = new LinkedHashMap<>();
+        for (int index = 0; index < sceneCount; index++) {
+            assets.put("clip-" + index, new MockMultipartFile(
+                    "asset.clip-" + index,
+                    "clip-" + index + ".mp4",
+                    "video/mp4",
+                    new byte[]{(byte) index}));
+        }
+        return assets;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Map<String, MultipartFile> validAssets() {
         Map<String, MultipartFile> assets = new LinkedHashMap<>();
         assets.put("scene-image", new MockMultipartFile(
@@ -0,0 +1,136 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContainerHeaderReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsDurationAndVideoTrackFromMp4WithMoovAfterMediaData() throws Exception {
+        Path file = Files.write(tempDir.resolve("clip.mp4"), mp4(12_500));
+
+        assertThat(ContainerHeaderReader.read(file))
+                .isEqualTo(new VideoProbeCache.ProbeResult(12.5, 1280, 720, 29.97, "h264"));
+    }
+
+    @Test
+    void readsDurationAndVideoTrackFromWebmWithUnknownSizeSegment() throws Exception {
+        Path file = Files.write(tempDir.resolve("clip.webm"), webm(8_250.0));
+
+        assertThat(ContainerHeaderReader.read(file))
+                .isEqualTo(new VideoProbeCache.ProbeResult(8.25, 640, 360, 25.0, "vp9"));
+    }
+
+    @Test
+    void returnsNullForContainersItCannotParse() throws Exception {
+        Path unknown = Files.write(tempDir.resolve("clip.avi"), "RIFF\0\0\0\0AVI LIST".getBytes(StandardCharsets.US_ASCII));
+        Path zeroDuration = Files.write(tempDir.resolve("zero-duration.mp4"), mp4(0));
+        Path truncated = Files.write(tempDir.resolve("truncated.mp4"), box("ftyp", ascii("isom")));
+        Path fragmentedWithDuration = Files.write(tempDir.resolve("fragmented-with-duration.mp4"), fragmentedMp4(2_000));
+
+        assertThat(ContainerHeaderReader.read(unknown)).isNull();
+        assertThat(ContainerHeaderReader.read(zeroDuration)).isNull();
+        assertThat(ContainerHeaderReader.read(truncated)).isNull();
+        assertThat(ContainerHeaderReader.read(fragmentedWithDuration)).isNull();
+    }
+
+    static byte[] mp4(long durationMillis) {
+        return mp4(durationMillis, new byte[0]);
+    }
+
+    private static byte[] fragmentedMp4(long moovDurationMillis) {
+        byte[] trex = ByteBuffer.allocate(24).putInt(4, 1).array();
+        return concat(
+                mp4(moovDurationMillis, box("mvex", box("trex", trex))),
+                box("moof", box("mfhd", new byte[8])),
+                box("mdat", new byte[1024]));
+    }
+
+    private static byte[] mp4(long durationMillis, byte[] extraMoovBoxes) {
+        byte[] mvhd = ByteBuffer.allocate(100).putInt(12, 1000).putInt(16, (int) durationMillis).array();
+        byte[] tkhd = ByteBuffer.allocate(84).putInt(76, 1280 << 16).putInt(80, 720 << 16).array();
+        byte[] mdhd = ByteBuffer.allocate(24).putInt(12, 30_000).array();
+        byte[] stsd = ByteBuffer.allocate(24).putInt(4, 1).putInt(8, 16).put(12, ascii("avc1")).array();
+        byte[] stts = ByteBuffer.allocate(16).putInt(4, 1).putInt(8, 375).putInt(12, 1001).array();
+
+        byte[] audioTrack = box("trak", box("mdia", box("hdlr", handler("soun"))));
+        byte[] videoTrack = box("trak",
+                box("tkhd", tkhd),
+                box("mdia",
+                        box("mdhd", mdhd),
+                        box("hdlr", handler("vide")),
+                        box("minf", box("stbl", box("stsd", stsd), box("stts", stts)))));
+        return concat(
+                box("ftyp", ascii("isom")),
+                box("mdat", new byte[4096]),
+                box("moov", box("mvhd", mvhd), audioTrack, videoTrack, extraMoovBoxes));
+    }
+
+    private static byte[] webm(double durationTicks) {
+        byte[] info = concat(
+                element(0x2AD7B1, new byte[]{0x0F, 0x42, 0x40}),
+                element(0x4489, ByteBuffer.allocate(8).putDouble(durationTicks).array()));
+        byte[] video = concat(
+                element(0xB0, new byte[]{0x02, (byte) 0x80}),
+                element(0xBA, new byte[]{0x01, 0x68}));
+        byte[] trackEntry = concat(
+                element(0x83, new byte[]{1}),
+                element(0x86, ascii("V_VP9")),
+                element(0x23E383, ByteBuffer.allocate(4).putInt(40_000_000).array()),
+                element(0xE0, video));
+        byte[] segmentBody = concat(
+                element(0x1549A966, info),
+                element(0x1654AE6B, element(0xAE, trackEntry)),
+                element(0x1F43B675, new byte[2048]));
+        byte[] unknownSize = {0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+        return concat(
+                element(0x1A45DFA3, element(0x4282, ascii("webm"))),
+                ByteBuffer.allocate(4).putInt(0x18538067).array(),
+                unknownSize,
+                segmentBody);
+    }
+
+    private static byte[] handler(String type) {
+        return ByteBuffer.allocate(25).put(8, ascii(type)).array();
+    }
+
+    private static byte[] box(String type, byte[]... children) {
+        byte[] payload = concat(children);
+        return concat(ByteBuffer.allocate(8).putInt(payload.length + 8).put(4, ascii(type)).array(), payload);
+    }
+
+    private static byte[] element(int id, byte[] payload) {
+        byte[] idBytes = ByteBuffer.allocate(4).putInt(id).array();
+        int firstByte = 0;
+        while (idBytes[firstByte] == 0) {
+            firstByte++;
+        }
+        ByteBuffer header = ByteBuffer.allocate(4 - firstByte + 8)
+                .put(idBytes, firstByte, 4 - firstByte)
+                .putLong(0x0100_0000_0000_0000L | payload.length);
+        return concat(header.array(), payload);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            output.writeBytes(part);
+        }
+        return output.toByteArray();
+    }
+}
@@ -6,6 +6,7 @@ import github.sarthakdev143.media_factory.dto.CompositionSceneRequest;
 import github.sarthakdev143.media_factory.dto.CompositionTransitionRequest;
 import github.sarthakdev143.media_factory.factory.VideoGeneratorUploaderFactory;
 import github.sarthakdev143.media_factory.integration.video.VideoGeneratorUploader;
+import github.sarthakdev143.media_factory.integration.youtube.YouTubeCategoryCatalog;
 import github.sarthakdev143.media_factory.integration.youtube.YouTubeServiceProvider;
 import github.sarthakdev143.media_factory.model.MotionType;
 import github.sarthakdev143.media_factory.model.OutputPreset;
@@ -14,10 +15,15 @@ import github.sarthakdev143.media_factory.model.PublishOptions;
 import github.sarthakdev143.media_factory.model.SceneType;
 import github.sarthakdev143.media_factory.model.TransitionType;
 import github.sarthakdev143.media_factory.model.UploadResult;
+import github.sarthakdev143.media_factory.model.VideoJobProgress;
 import github.sarthakdev143.media_factory.model.VideoJobState;
 import github.sarthakdev143.media_factory.model.VideoJobStatus;
 import github.sarthakdev143.media_factory.model.composition.CompositionRenderPlan;
+import github.sarthakdev143.media_factory.repository.InMemoryVideoJobRepository;
 import github.sarthakdev143.media_factory.service.CompositionRenderer;
+import github.sarthakdev143.media_factory.service.JobQueueFullException;
+import github.sarthakdev143.media_factory.service.RenderProgressListener;
+import github.sarthakdev143.media_factory.service.UploadProgressListener;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,23 +31,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -52,6 +65,9 @@ class DefaultVideoProcessingServiceTest {
     @Mock
     private YouTubeServiceProvider youTubeServiceProvider;
 
+    @Mock
+    private YouTubeCategoryCatalog categoryCatalog;
+
     @Mock
     private VideoGeneratorUploaderFactory uploaderFactory;
 
@@ -64,24 +80,55 @@ class DefaultVideoProcessingServiceTest {
     @Mock
     private YouTube youTubeService;
 
+    private SimpleMeterRegistry meterRegistry;
     private DefaultVideoProcessingService service;
 
     @BeforeEach
     void setUp() {
-        TaskExecutor directExecutor = Runnable::run;
+        meterRegistry = new SimpleMeterRegistry();
         service = new DefaultVideoProcessingService(
                 youTubeServiceProvider,
+                categoryCatalog,
                 uploaderFactory,
                 compositionRenderer,
-                directExecutor,
+                directJobExecutor(),
+                assetWorkspace(),
+                new InMemoryVideoJobRepository(Duration.ofHours(1), 1000, new SimpleMeterRegistry()),
+                meterRegistry);
+    }
+
+    @Test
+    void failInterruptedJobsMarksUnfinishedJobsFailedAfterRestart() {
+        InMemoryVideoJobRepository jobRepository = new InMemoryVideoJobRepository(Duration.ofHours(1), 1000, new SimpleMeterRegistry());
+        Instant createdAt = Instant.now();
+        jobRepository.save(new VideoJobStatus(
+                "job-running", VideoJobState.PROCESSING, "Rendering.", createdAt, createdAt,
+                PrivacyStatus.PRIVATE, List.of(), null, null, null, null, null, null));
+        jobRepository.save(new VideoJobStatus(
+                "job-done", VideoJobState.COMPLETED, "Done.", createdAt, createdAt,
+                PrivacyStatus.PRIVATE, List.of(), null, null, "video-1", null, null, null));
+        DefaultVideoProcessingService restartedService = new DefaultVideoProcessingService(
+                youTubeServiceProvider,
+                categoryCatalog,
+                uploaderFactory,
+                compositionRenderer,
+                directJobExecutor(),
+                assetWorkspace(),
+                jobRepository,
                 new SimpleMeterRegistry());
+
+        restartedService.failInterruptedJobs();
+
+        assertThat(restartedService.getJobStatus("job-running")).map(VideoJobStatus::state).contains(VideoJobState.FAILED);
+        assertThat(restartedService.getJobStatus("job-done")).map(VideoJobStatus::state).contains(VideoJobState.COMPLETED);
     }
 
     @Test
     void submitJobCompletesSuccessfully() throws Exception {
         when(youTubeServiceProvider.getService()).thenReturn(youTubeService);
         when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
-        when(uploader.uploadToYouTube(anyString(), eq("Title"), eq("Description"), any(PublishOptions.class)))
+        when(uploader.uploadToYouTube(
+                anyString(), eq("Title"), eq("Description"), any(PublishOptions.class), any(UploadProgressListener.class)))
                 .thenReturn(new UploadResult("video-123"));
 
         String jobId = service.submitJob(
@@ -97,8 +144,9 @@ class DefaultVideoProcessingServiceTest {
         assertThat(status.state()).isEqualTo(VideoJobState.COMPLETED);
         assertThat(status.youtubeVideoId()).isEqualTo("video-123");
         assertThat(status.youtubeVideoUrl()).isEqualTo("https://www.youtube.com/watch?v=video-123");
-        verify(uploader).generateVideo(anyString(), anyString(), eq(60), anyString());
-        verify(uploader).uploadToYouTube(anyString(), eq("Title"), eq("Description"), any(PublishOptions.class));
+        verify(uploader).generateVideo(anyString(), anyString(), eq(60), anyString(), any(RenderProgressListener.class));
+        verify(uploader).uploadToYouTube(
+                anyString(), eq("Title"), eq("Description"), any(PublishOptions.class), any(UploadProgressListener.class));
         verifyNoInteractions(compositionRenderer);
     }
 
@@ -106,7 +154,8 @@ class DefaultVideoProcessingServiceTest {
     void submitJobPassesPublishOptionsToUploader() throws Exception {
         when(youTubeServiceProvider.getService()).thenReturn(youTubeService);
         when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
-        when(uploader.uploadToYouTube(anyString(), anyString(), anyString(), any(PublishOptions.class)))
+        when(uploader.uploadToYouTube(
+                anyString(), anyString(), anyString(), any(PublishOptions.class), any(UploadProgressListener.class)))
                 .thenReturn(new UploadResult("video-456"));
 
         PublishOptions options = new PublishOptions(
@@ -118,7 +167,8 @@ class DefaultVideoProcessingServiceTest {
         String jobId = service.submitJob(validImage(), validAudio(), 120, "Title", "Description", options, null);
 
         ArgumentCaptor<PublishOptions> optionsCaptor = ArgumentCaptor.forClass(PublishOptions.class);
-        verify(uploader).uploadToYouTube(anyString(), eq("Title"), eq("Description"), optionsCaptor.capture());
+        verify(uploader).uploadToYouTube(
+                anyString(), eq("Title"), eq("Description"), optionsCaptor.capture(), any(UploadProgressListener.class));
         assertThat(optionsCaptor.getValue()).isEqualTo(options);
 
         VideoJobStatus status = service.getJobStatus(jobId).orElseThrow();
@@ -127,11 +177,35 @@ class DefaultVideoProcessingServiceTest {
         assertThat(status.categoryId()).isEqualTo("22");
     }
 
+    @Test
+    void submitJobDropsCategoryTheCatalogKnowsIsInvalidBeforeUploading() throws Exception {
+        when(youTubeServiceProvider.getService()).thenReturn(youTubeService);
+        when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
+        when(categoryCatalog.isKnownInvalid("999")).thenReturn(true);
+        when(uploader.uploadToYouTube(
+                anyString(), anyString(), anyString(), any(PublishOptions.class), any(UploadProgressListener.class)))
+                .thenReturn(new UploadResult("video-789"));
+
+        PublishOptions options = new PublishOptions(PrivacyStatus.PRIVATE, List.of("music"), "999", null);
+        String jobId = service.submitJob(validImage(), validAudio(), 60, "Title", "Description", options, null);
+
+        ArgumentCaptor<PublishOptions> optionsCaptor = ArgumentCaptor.forClass(PublishOptions.class);
+        verify(uploader).uploadToYouTube(
+                anyString(), eq("Title"), eq("Description"), optionsCaptor.capture(), any(UploadProgressListener.class));
+        assertThat(optionsCaptor.getValue().categoryId()).isNull();
+        assertThat(optionsCaptor.getValue().tags()).containsExactly("music");
+
+        VideoJobStatus status = service.getJobStatus(jobId).orElseThrow();
+        assertThat(status.state()).isEqualTo(VideoJobState.COMPLETED);
+        assertThat(status.warningMessage()).contains("Invalid categoryId was ignored");
+    }
+
     @Test
     void submitJobMarksCompletedWithWarningWhenThumbnailUploadFails() throws Exception {
         when(youTubeServiceProvider.getService()).thenReturn(youTubeService);
         when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
-        when(uploader.uploadToYouTube(anyString(), anyString(), anyString(), any(PublishOptions.class)))
+        when(uploader.uploadToYouTube(
+                anyString(), anyString(), anyString(), any(PublishOptions.class), any(UploadProgressListener.class)))
                 .thenReturn(new UploadResult("video-thumb-1"));
         doThrow(new IOException("thumbnail failed"))
                 .when(uploader)
@@ -160,7 +234,8 @@ class DefaultVideoProcessingServiceTest {
     void submitJobPreservesUploadWarningsFromUploader() throws Exception {
         when(youTubeServiceProvider.getService()).thenReturn(youTubeService);
         when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
-        when(uploader.uploadToYouTube(anyString(), anyString(), anyString(), any(PublishOptions.class)))
+        when(uploader.uploadToYouTube(
+                anyString(), anyString(), anyString(), any(PublishOptions.class), any(UploadProgressListener.class)))
                 .thenReturn(new UploadResult("video-cat-1", "Invalid categoryId was ignored. Video uploaded without category."));
 
         String jobId = service.submitJob(
@@ -183,7 +258,7 @@ class DefaultVideoProcessingServiceTest {
         when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
         doThrow(new RuntimeException("ffmpeg failed"))
                 .when(uploader)
-                .generateVideo(anyString(), anyString(), anyInt(), anyString());
+                .generateVideo(anyString(), anyString(), anyInt(), anyString(), any(RenderProgressListener.class));
 
         String jobId = service.submitJob(
                 validImage(),
@@ -216,11 +291,39 @@ class DefaultVideoProcessingServiceTest {
         verifyNoInteractions(uploaderFactory);
     }
 
+    @Test
+    void submitJobRejectsWorkWithoutCopyingUploadsWhenQueueIsFull() throws Exception {
+        List<Runnable> pendingJobs = new ArrayList<>();
+        DefaultVideoProcessingService busyService = new DefaultVideoProcessingService(
+                youTubeServiceProvider,
+                categoryCatalog,
+                uploaderFactory,
+                compositionRenderer,
+                new MediaJobExecutor(pendingJobs::add, Runnable::run, 1, 1, 0, Duration.ofSeconds(30), new SimpleMeterRegistry()),
+                assetWorkspace(),
+                new InMemoryVideoJobRepository(Duration.ofHours(1), 1000, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+        busyService.submitJob(validImage(), validAudio(), 60, "Title", "Description", defaultOptions(), null);
+        busyService.submitJob(validImage(), validAudio(), 60, "Title", "Description", defaultOptions(), null);
+        MultipartFile image = mock(MultipartFile.class);
+
+        assertThatThrownBy(() -> busyService.submitJob(image, validAudio(), 60, "Title", "Description", defaultOptions(), null))
+                .isInstanceOf(JobQueueFullException.class);
+
+        verifyNoInteractions(image);
+        assertThat(pendingJobs).hasSize(2);
+    }
+
     @Test
     void submitCompositionJobCompletesSuccessfully() throws Exception {
         when(youTubeServiceProvider.getService()).thenReturn(youTubeService);
         when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
-        when(uploader.uploadToYouTube(anyString(), eq("Composition title"), eq("Composition description"), any(PublishOptions.class)))
+        when(uploader.uploadToYouTube(
+                anyString(),
+                eq("Composition title"),
+                eq("Composition description"),
+                any(PublishOptions.class),
+                any(UploadProgressListener.class)))
                 .thenReturn(new UploadResult("video-comp-123"));
 
         String jobId = service.submitCompositionJob(
@@ -237,18 +340,89 @@ class DefaultVideoProcessingServiceTest {
         assertThat(status.youtubeVideoId()).isEqualTo("video-comp-123");
 
         ArgumentCaptor<CompositionRenderPlan> renderPlanCaptor = ArgumentCaptor.forClass(CompositionRenderPlan.class);
-        verify(compositionRenderer).renderComposition(renderPlanCaptor.capture(), any(Path.class));
+        verify(compositionRenderer).renderComposition(
+                renderPlanCaptor.capture(),
+                any(Path.class),
+                any(RenderProgressListener.class));
         CompositionRenderPlan renderPlan = renderPlanCaptor.getValue();
         assertThat(renderPlan.outputPreset()).isEqualTo(OutputPreset.PORTRAIT_9_16);
         assertThat(renderPlan.scenes()).hasSize(1);
         assertThat(renderPlan.assetPaths()).containsKey("scene-1");
+        assertThat(renderPlan.assetHashes()).containsEntry(
+                "scene-1",
+                HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(new byte[]{10, 11, 12})));
+    }
+
+    @Test
+    void submitCompositionJobReportsUploadProgressAndRecordsUploadMetrics() throws Exception {
+        when(youTubeServiceProvider.getService()).thenReturn(youTubeService);
+        when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
+        when(uploader.uploadToYouTube(
+                anyString(), anyString(), anyString(), any(PublishOptions.class), any(UploadProgressListener.class)))
+                .thenAnswer(invocation -> {
+                    UploadProgressListener progressListener = invocation.getArgument(4);
+                    progressListener.onProgress(1024, 4096);
+                    progressListener.onProgress(4096, 4096);
+                    return new UploadResult("video-progress-1");
+                });
+
+        String jobId = service.submitCompositionJob(
+                validAssets(),
+                validAudio(),
+                validCompositionManifest(),
+                "Composition title",
+                "Composition description",
+                defaultOptions(),
+                null);
+
+        VideoJobProgress progress = service.getJobStatus(jobId).orElseThrow().progress();
+        assertThat(progress.stage()).isEqualTo(VideoJobProgress.UPLOAD_STAGE);
+        assertThat(progress.percentComplete()).isEqualTo(100.0);
+        assertThat(progress.bytesSent()).isEqualTo(4096L);
+        assertThat(progress.totalBytes()).isEqualTo(4096L);
+        assertThat(meterRegistry.get("media_factory.upload.duration")
+                .tags("preset", "PORTRAIT_9_16", "size", "lt_10mb")
+                .summary()
+                .count()).isEqualTo(1L);
+        assertThat(meterRegistry.find("media_factory.upload.throughput").summaries()).hasSize(1);
+    }
+
+    @Test
+    void sizeBucketGroupsUploadsByOrderOfMagnitude() {
+        assertThat(DefaultVideoProcessingService.sizeBucket(0)).isEqualTo("lt_10mb");
+        assertThat(DefaultVideoProcessingService.sizeBucket(10L * 1024 * 1024)).isEqualTo("10mb_100mb");
+        assertThat(DefaultVideoProcessingService.sizeBucket(500L * 1024 * 1024)).isEqualTo("100mb_1gb");
+        assertThat(DefaultVideoProcessingService.sizeBucket(3L * 1024 * 1024 * 1024)).isEqualTo("gte_1gb");
+    }
+
+    @Test
+    void submitCompositionJobExposesRenderProgressInJobStatus() throws Exception {
+        doAnswer(invocation -> {
+            RenderProgressListener progressListener = invocation.getArgument(2);
+            progressListener.onProgress("render_scenes", 6.0, 8.0, 2.0);
+            throw new IOException("render failed");
+        }).when(compositionRenderer)
+                .renderComposition(any(CompositionRenderPlan.class), any(Path.class), any(RenderProgressListener.class));
+
+        String jobId = service.submitCompositionJob(
+                validAssets(),
+                validAudio(),
+                validCompositionManifest(),
+                "Composition title",
+                "Composition description",
+                defaultOptions(),
+                null);
+
+        VideoJobStatus status = service.getJobStatus(jobId).orElseThrow();
+        assertThat(status.state()).isEqualTo(VideoJobState.FAILED);
+        assertThat(status.progress()).isEqualTo(new VideoJobProgress("render_scenes", 75.0, 2.0, 1L));
     }
 
     @Test
     void submitCompositionJobMarksFailedWhenRenderFails() throws Exception {
         doThrow(new IOException("render failed"))
                 .when(compositionRenderer)
-                .renderComposition(any(CompositionRenderPlan.class), any(Path.class));
+                .renderComposition(any(CompositionRenderPlan.class), any(Path.class), any(RenderProgressListener.class));
 
         String jobId = service.submitCompositionJob(
                 validAssets(),
@@ -268,7 +442,8 @@ class DefaultVideoProcessingServiceTest {
     void submitCompositionJobMarksCompletedWithWarningWhenThumbnailUploadFails() throws Exception {
         when(youTubeServiceProvider.getService()).thenReturn(youTubeService);
         when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
-        when(uploader.uploadToYouTube(anyString(), anyString(), anyString(), any(PublishOptions.class)))
+        when(uploader.uploadToYouTube(
+                anyString(), anyString(), anyString(), any(PublishOptions.class), any(UploadProgressListener.class)))
                 .thenReturn(new UploadResult("video-thumb-2"));
         doThrow(new IOException("thumbnail failed"))
                 .when(uploader)
@@ -294,7 +469,8 @@ class DefaultVideoProcessingServiceTest {
         when(uploaderFactory.create(youTubeService)).thenReturn(uploader);
         doThrow(new RuntimeException("upload failed"))
                 .when(uploader)
-                .uploadToYouTube(anyString(), anyString(), anyString(), any(PublishOptions.class));
+                .uploadToYouTube(
+                        anyString(), anyString(), anyString(), any(PublishOptions.class), any(UploadProgressListener.class));
 
         String jobId = service.submitCompositionJob(
                 validAssets(),
@@ -309,6 +485,14 @@ class DefaultVideoProcessingServiceTest {
         assertThat(status.state()).isEqualTo(VideoJobState.FAILED);
     }
 
+    private MediaJobExecutor directJobExecutor() {
+        return new MediaJobExecutor(Runnable::run, Runnable::run, 1, 1, 0, Duration.ofSeconds(30), new SimpleMeterRegistry());
+    }
+
+    private AssetWorkspace assetWorkspace() {
+        return new AssetWorkspace(new MultipartIngestor(DataSize.ofMegabytes(64), new SimpleMeterRegistry()));
+    }
+
     private CompositionManifestRequest validCompositionManifest() {
         return new CompositionManifestRequest(
                 OutputPreset.PORTRAIT_9_16,
@@ -0,0 +1,138 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import github.sarthakdev143.media_factory.service.JobQueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MediaJobExecutorTest {
+
+    private final List<Runnable> pendingRenders = new ArrayList<>();
+    private final List<Runnable> pendingUploads = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MediaJobExecutor executor = new MediaJobExecutor(
+            pendingRenders::add,
+            pendingUploads::add,
+            1,
+            1,
+            1,
+            Duration.ofSeconds(45),
+            meterRegistry);
+
+    @Test
+    void rejectsReservationsBeyondPipelineCapacity() {
+        for (int job = 0; job < 3; job++) {
+            executor.reserve().submit(() -> "rendered", rendered -> { });
+        }
+
+        assertThatThrownBy(executor::reserve)
+                .isInstanceOf(JobQueueFullException.class)
+                .satisfies(error -> assertThat(((JobQueueFullException) error).retryAfterSeconds()).isEqualTo(45));
+        assertThatThrownBy(executor::checkCapacity).isInstanceOf(JobQueueFullException.class);
+        assertThat(meterRegistry.get("media_factory.jobs.executor.rejections").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("media_factory.jobs.executor.queue_depth").tag("stage", "render").gauge().value())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    void renderedOutputIsHandedToTheUploadStage() {
+        List<String> uploaded = new ArrayList<>();
+        executor.reserve().submit(() -> "video.mp4", uploaded::add);
+
+        pendingRenders.remove(0).run();
+
+        assertThat(executor.renderQueueDepth()).isZero();
+        assertThat(executor.uploadQueueDepth()).isEqualTo(1);
+        assertThat(uploaded).isEmpty();
+
+        pendingUploads.remove(0).run();
+
+        assertThat(uploaded).containsExactly("video.mp4");
+        assertThat(executor.uploadQueueDepth()).isZero();
+    }
+
+    @Test
+    void slotIsHeldUntilUploadFinishes() {
+        for (int job = 0; job < 3; job++) {
+            executor.reserve().submit(() -> "rendered", rendered -> { });
+        }
+
+        pendingRenders.remove(0).run();
+        assertThatThrownBy(executor::checkCapacity).isInstanceOf(JobQueueFullException.class);
+
+        pendingUploads.remove(0).run();
+        executor.checkCapacity();
+    }
+
+    @Test
+    void failedRenderSkipsUploadAndFreesItsSlot() {
+        List<String> uploaded = new ArrayList<>();
+        for (int job = 0; job < 3; job++) {
+            executor.reserve().<String>submit(() -> null, uploaded::add);
+        }
+
+        pendingRenders.remove(0).run();
+
+        assertThat(pendingUploads).isEmpty();
+        executor.checkCapacity();
+    }
+
+    @Test
+    void closingAnUnsubmittedReservationReleasesItsSlot() {
+        try (MediaJobExecutor.Reservation ignored = executor.reserve()) {
+            executor.reserve().close();
+        }
+
+        for (int job = 0; job < 3; job++) {
+            executor.reserve().submit(() -> "rendered", rendered -> { });
+        }
+        assertThat(pendingRenders).hasSize(3);
+    }
+
+    @Test
+    void renderConcurrencyIsCappedByTheLimiterRatherThanThreadCount() throws Exception {
+        MediaJobExecutor threadPerTaskExecutor = new MediaJobExecutor(
+                runnable -> new Thread(runnable).start(),
+                runnable -> new Thread(runnable).start(),
+                1,
+                1,
+                1,
+                Duration.ofSeconds(45),
+                new SimpleMeterRegistry());
+        CountDownLatch firstRenderStarted = new CountDownLatch(1);
+        CountDownLatch releaseRenders = new CountDownLatch(1);
+        CountDownLatch uploadsDone = new CountDownLatch(2);
+
+        for (int job = 0; job < 2; job++) {
+            threadPerTaskExecutor.reserve().submit(() -> {
+                firstRenderStarted.countDown();
+                awaitQuietly(releaseRenders);
+                return "rendered";
+            }, rendered -> uploadsDone.countDown());
+        }
+
+        assertThat(firstRenderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(threadPerTaskExecutor.activeRenders()).isEqualTo(1);
+        assertThat(threadPerTaskExecutor.renderQueueDepth()).isEqualTo(1);
+
+        releaseRenders.countDown();
+        assertThat(uploadsDone.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import github.sarthakdev143.media_factory.integration.video.SceneClipCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Part;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.support.StandardMultipartHttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MultipartIngestorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MultipartIngestor ingestor = new MultipartIngestor(DataSize.ofMegabytes(1), meterRegistry);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ingestStreamsSmallPartsAndReportsTheirHashAndSize() throws Exception {
+        byte[] content = new byte[700 * 1024];
+        new Random(42).nextBytes(content);
+        MockMultipartFile part = new MockMultipartFile("asset", "clip.mp4", "video/mp4", content);
+
+        MultipartIngestor.IngestedFile ingested = ingestor.ingest(part, "media-factory-test-", ".mp4");
+
+        try {
+            assertThat(ingested.path()).hasBinaryContent(content);
+            assertThat(ingested.sizeBytes()).isEqualTo(content.length);
+            assertThat(ingested.sha256()).isEqualTo(SceneClipCache.sha256(ingested.path()));
+            assertThat(meterRegistry.get("media_factory.ingest.parts").tag("mode", "stream").counter().count())
+                    .isEqualTo(1.0);
+        } finally {
+            Files.deleteIfExists(ingested.path());
+        }
+    }
+
+    @Test
+    void ingestMovesLargePartsThroughPartWriteAndHashesTheMovedFile() throws Exception {
+        byte[] content = new byte[(int) DataSize.ofMegabytes(2).toBytes()];
+        new Random(7).nextBytes(content);
+        Path spoolFile = Files.write(tempDir.resolve("upload_spool.tmp"), content);
+        SpooledPart part = new SpooledPart("asset", "clip.mp4", spoolFile);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/video/compositions");
+        request.setContentType("multipart/form-data; boundary=test");
+        request.addPart(part);
+        MultipartFile file = new StandardMultipartHttpServletRequest(request).getFile("asset");
+
+        MultipartIngestor.IngestedFile ingested = ingestor.ingest(file, "media-factory-test-", ".mp4");
+
+        try {
+            assertThat(part.writtenTo).isEqualTo(ingested.path().toAbsolutePath().toString());
+            assertThat(part.inputStreamsOpened).isZero();
+            assertThat(spoolFile).doesNotExist();
+            assertThat(ingested.path()).hasBinaryContent(content);
+            assertThat(ingested.sizeBytes()).isEqualTo(content.length);
+            assertThat(ingested.sha256()).isEqualTo(HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(content)));
+            assertThat(meterRegistry.get("media_factory.ingest.parts").tag("mode", "hand_off").counter().count())
+                    .isEqualTo(1.0);
+        } finally {
+            Files.deleteIfExists(ingested.path());
+        }
+    }
+
+    @Test
+    void ingestDeletesPartialFileWhenReadingThePartFails() throws Exception {
+        MultipartFile part = mock(MultipartFile.class);
+        when(part.getInputStream()).thenReturn(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("client disconnected");
+            }
+        });
+        long tempFilesBefore = countIngestTempFiles();
+
+        assertThatThrownBy(() -> ingestor.ingest(part, "media-factory-ingest-failure-", ".bin"))
+                .isInstanceOf(IOException.class);
+        assertThat(countIngestTempFiles()).isEqualTo(tempFilesBefore);
+    }
+
+    /**
+     * A part spooled to disk, written the way the container does it: by moving the spool file into place.
+     */
+    private static final class SpooledPart implements Part {
+
+        private final String name;
+        private final String fileName;
+        private final Path spoolFile;
+        private String writtenTo;
+        private int inputStreamsOpened;
+
+        private SpooledPart(String name, String fileName, Path spoolFile) {
+            this.name = name;
+            this.fileName = fileName;
+            this.spoolFile = spoolFile;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            inputStreamsOpened++;
+            return Files.newInputStream(spoolFile);
+        }
+
+        @Override
+        public String getContentType() {
+            return "video/mp4";
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getSubmittedFileName() {
+            return fileName;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(writtenTo == null ? spoolFile : Path.of(writtenTo));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(String fileName) throws IOException {
+            Files.move(spoolFile, Path.of(fileName), StandardCopyOption.REPLACE_EXISTING);
+            writtenTo = fileName;
+        }
+
+        @Override
+        public void delete() throws IOException {
+            Files.deleteIfExists(spoolFile);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return "content-disposition".equalsIgnoreCase(name)
+                    ? "form-data; name=\"" + this.name + "\"; filename=\"" + fileName + "\""
+                    : null;
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            String header = getHeader(name);
+            return header == null ? List.of() : List.of(header);
+        }
+
+        @Override
+        public Collection<String> getHeaderNames() {
+            return List.of("content-disposition");
+        }
+    }
+
+    private long countIngestTempFiles() throws IOException {
+        Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
+        try (var files = Files.list(tempDir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("media-factory-ingest-failure-")).count();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import github.sarthakdev143.media_factory.model.VideoJobProgress;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class UploadThroughputTest {
+
+    private static final long CHUNK = 8L * 1024 * 1024;
+    private static final long TOTAL = 100 * CHUNK;
+
+    @Test
+    void aStalledChunkLowersTheRateAndRaisesTheEtaWhenItIsAcknowledged() {
+        UploadThroughput throughput = new UploadThroughput(0L);
+        long now = 0L;
+        double rate = 0.0;
+        for (int chunk = 1; chunk <= 10; chunk++) {
+            now += TimeUnit.SECONDS.toNanos(1);
+            rate = throughput.record(chunk * CHUNK, now);
+        }
+        assertThat(rate).isCloseTo(CHUNK, within(1.0));
+        VideoJobProgress beforeStall = VideoJobProgress.ofUpload(10 * CHUNK, TOTAL, rate);
+
+        now += TimeUnit.SECONDS.toNanos(30);
+        double stalledRate = throughput.record(11 * CHUNK, now);
+        VideoJobProgress afterStall = VideoJobProgress.ofUpload(11 * CHUNK, TOTAL, stalledRate);
+
+        // An average since the start would still report 11 chunks in 40 s, about a quarter of the link rate.
+        assertThat(stalledRate).isLessThan(CHUNK * 0.1);
+        assertThat(afterStall.etaSeconds()).isGreaterThan(beforeStall.etaSeconds() * 10);
+    }
+
+    @Test
+    void startsOverWhenTheAcknowledgedOffsetGoesBack() {
+        UploadThroughput throughput = new UploadThroughput(0L);
+        throughput.record(50 * CHUNK, TimeUnit.SECONDS.toNanos(5));
+
+        assertThat(throughput.record(0L, TimeUnit.SECONDS.toNanos(6))).isZero();
+        assertThat(VideoJobProgress.ofUpload(0L, TOTAL, 0.0).etaSeconds()).isNull();
+        assertThat(throughput.record(CHUNK, TimeUnit.SECONDS.toNanos(8))).isCloseTo(CHUNK / 2.0, within(1.0));
+    }
+}
@@ -0,0 +1,30 @@
+package github.sarthakdev143.media_factory.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VideoProbeCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesAndReportsHitRatio() {
+        VideoProbeCache cache = new VideoProbeCache(2, meterRegistry);
+        VideoProbeCache.ProbeResult result = new VideoProbeCache.ProbeResult(5.0, null, null, null, null);
+        cache.put("a", result);
+        cache.put("b", result);
+
+        assertThat(cache.get("a")).isEqualTo(result);
+        cache.put("c", result);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(result);
+        assertThat(cache.entryCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("media_factory.validation.probe_cache.evictions").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("media_factory.validation.probe_cache.hit_ratio").gauge().value())
+                .isCloseTo(2.0 / 3.0, within(1e-9));
+    }
+}